@@ -0,0 +1,25 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Entry point of <code>benchmarks.jar</code>. Same as
+ * {@linkplain org.openjdk.jmh.Main} except that results are written as JSON
+ * (<code>jmh-result.json</code>) unless another format is requested with
+ * <code>-rf</code>, so runs of different releases can be compared.
+ */
+public final class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        if (!options.contains("-rf")) {
+            options.add(0, "-rf");
+            options.add(1, "json");
+        }
+        org.openjdk.jmh.Main.main(options.toArray(new String[options.size()]));
+    }
+
+    private BenchmarkMain() {
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.Signature;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+import io.github.lc.oss.commons.signing.HmacAlgorithm;
+import io.github.lc.oss.commons.signing.KeyGenerator;
+
+/**
+ * Compares the pooled engines used by the library against looking up a new
+ * {@linkplain Signature}/{@linkplain Mac} for every operation (the behavior
+ * prior to engine pooling).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(Threads.MAX)
+public class EngineBenchmark {
+    @Param({ "HS256", "RS256", "ES256", "ED25519" })
+    public String algorithmId;
+
+    private Algorithm algorithm;
+    private String keyType;
+    private String jcaName;
+    private byte[] secret;
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        this.algorithm = Algorithms.get(this.algorithmId);
+        this.data = Fixtures.payload(256);
+        if (this.algorithm instanceof HmacAlgorithm) {
+            this.secret = Fixtures.hmacSecret(this.algorithm);
+            this.jcaName = Fixtures.jcaName(this.algorithm);
+        } else {
+            KeyPair pair = new KeyGenerator().generate(this.algorithm);
+            this.secret = pair.getPrivate().getEncoded();
+            this.keyType = pair.getPrivate().getAlgorithm();
+            this.jcaName = Fixtures.jcaName(this.algorithm);
+        }
+    }
+
+    @Benchmark
+    public String pooled() {
+        return this.algorithm.getSignature(this.secret, this.data);
+    }
+
+    @Benchmark
+    public byte[] perCallLookup() throws Exception {
+        if (this.keyType == null) {
+            Mac mac = Mac.getInstance(this.jcaName);
+            mac.init(new SecretKeySpec(this.secret, this.jcaName));
+            return mac.doFinal(this.data);
+        }
+
+        Signature signature = Signature.getInstance(this.jcaName);
+        signature.initSign(KeyFactory.getInstance(this.keyType).generatePrivate(new PKCS8EncodedKeySpec(this.secret)));
+        signature.update(this.data);
+        return signature.sign();
+    }
+}
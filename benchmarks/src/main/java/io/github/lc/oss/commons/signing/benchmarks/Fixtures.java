@@ -0,0 +1,88 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.KeyPair;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+import io.github.lc.oss.commons.signing.HmacAlgorithm;
+import io.github.lc.oss.commons.signing.KeyGenerator;
+
+/**
+ * Shared, deterministic inputs for the benchmarks.
+ */
+final class Fixtures {
+    private static final Map<Algorithm, String> JCA_NAMES = new HashMap<>();
+    static {
+        JCA_NAMES.put(Algorithms.HS256, "HmacSHA256");
+        JCA_NAMES.put(Algorithms.HS384, "HmacSHA384");
+        JCA_NAMES.put(Algorithms.HS512, "HmacSHA512");
+        JCA_NAMES.put(Algorithms.RS256, "SHA256withRSA");
+        JCA_NAMES.put(Algorithms.RS384, "SHA384withRSA");
+        JCA_NAMES.put(Algorithms.RS512, "SHA512withRSA");
+        JCA_NAMES.put(Algorithms.ES256, "SHA256withECDSA");
+        JCA_NAMES.put(Algorithms.ES256K, "SHA256withECDSA");
+        JCA_NAMES.put(Algorithms.ES384, "SHA384withECDSA");
+        JCA_NAMES.put(Algorithms.ES512, "SHA512withECDSA");
+        JCA_NAMES.put(Algorithms.ED25519, "Ed25519");
+        JCA_NAMES.put(Algorithms.ED448, "Ed448");
+    }
+
+    static String jcaName(Algorithm algorithm) {
+        return JCA_NAMES.get(algorithm);
+    }
+
+    static byte[] payload(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+
+    static byte[] hmacSecret(Algorithm algorithm) {
+        byte[] secret = new byte[algorithm.getMinBitLength() / 8];
+        new Random(secret.length).nextBytes(secret);
+        return secret;
+    }
+
+    /**
+     * @return The encoded signing and verification keys for
+     *         <code>algorithm</code>, both are the same secret for HMACs
+     */
+    static byte[][] keys(Algorithm algorithm) {
+        if (algorithm instanceof HmacAlgorithm) {
+            byte[] secret = Fixtures.hmacSecret(algorithm);
+            return new byte[][] { secret, secret };
+        }
+        KeyPair pair = new KeyGenerator().generate(algorithm);
+        return new byte[][] { pair.getPrivate().getEncoded(), pair.getPublic().getEncoded() };
+    }
+
+    static String resource(String name) throws IOException {
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Copies a classpath resource to a temporary file, for the APIs that only
+     * accept a file path.
+     */
+    static Path resourceFile(String name) throws IOException {
+        Path file = Files.createTempFile("signing-benchmark", name.substring(name.lastIndexOf('.')));
+        try (InputStream in = Fixtures.class.getClassLoader().getResourceAsStream(name)) {
+            Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return file;
+    }
+
+    private Fixtures() {
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+import io.github.lc.oss.commons.signing.Signer;
+import io.github.lc.oss.commons.signing.Verifier;
+
+/**
+ * Cost of decoding and validating an encoded key, i.e. what every
+ * <code>byte[]</code> key call pays up front when no key cache is configured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyDecodeBenchmark {
+    @Param({ "HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "ES256", "ES256K", "ES384", "ES512", "ED25519", "ED448" })
+    public String algorithmId;
+
+    private Algorithm algorithm;
+    private byte[] privateKey;
+    private byte[] publicKey;
+
+    @Setup
+    public void setup() {
+        this.algorithm = Algorithms.get(this.algorithmId);
+        byte[][] keys = Fixtures.keys(this.algorithm);
+        this.privateKey = keys[0];
+        this.publicKey = keys[1];
+    }
+
+    @Benchmark
+    public Signer decodePrivate() {
+        return this.algorithm.newSigner(this.privateKey);
+    }
+
+    @Benchmark
+    public Verifier decodePublic() {
+        return this.algorithm.newVerifier(this.publicKey);
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+import io.github.lc.oss.commons.signing.KeyGenerator;
+
+/**
+ * Key pair generation per asymmetric algorithm. RSA generation is slow and
+ * highly variable, sampled time keeps the distribution visible.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KeyGeneratorBenchmark {
+    @Param({ "RS256", "RS384", "RS512", "ES256", "ES256K", "ES384", "ES512", "ED25519", "ED448" })
+    public String algorithmId;
+
+    private Algorithm algorithm;
+    private KeyGenerator generator;
+
+    @Setup
+    public void setup() {
+        this.algorithm = Algorithms.get(this.algorithmId);
+        this.generator = new KeyGenerator();
+    }
+
+    @Benchmark
+    public KeyPair generate() {
+        return this.generator.generate(this.algorithm);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+import io.github.lc.oss.commons.signing.HmacAlgorithm;
+import io.github.lc.oss.commons.signing.KeyGenerator;
+
+/**
+ * Compares signing a file through the buffered stream path against memory
+ * mapping it. The 10 GiB case needs that much free disk space in the temp
+ * directory, select smaller sizes with <code>-p sizeMb=1,64</code> if needed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MappedFileBenchmark {
+    @Param({ "HS256", "RS256", "ES256" })
+    public String algorithmId;
+
+    @Param({ "1", "16", "256", "1024", "10240" })
+    public int sizeMb;
+
+    private Algorithm algorithm;
+    private byte[] secret;
+    private Path file;
+
+    @Setup
+    public void setup() throws IOException {
+        this.algorithm = Algorithms.get(this.algorithmId);
+        if (this.algorithm instanceof HmacAlgorithm) {
+            this.secret = Fixtures.hmacSecret(this.algorithm);
+        } else {
+            KeyPair pair = new KeyGenerator().generate(this.algorithm);
+            this.secret = pair.getPrivate().getEncoded();
+        }
+
+        this.file = Files.createTempFile("signing-benchmark", ".bin");
+        byte[] chunk = Fixtures.payload(1024 * 1024);
+        try (OutputStream os = Files.newOutputStream(this.file)) {
+            for (int i = 0; i < this.sizeMb; i++) {
+                os.write(chunk);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    public String stream() {
+        return this.algorithm.getSignature(this.secret, this.file);
+    }
+
+    @Benchmark
+    public String mapped() {
+        return this.algorithm.getMappedSignature(this.secret, this.file);
+    }
+}
@@ -0,0 +1,327 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+
+/**
+ * Drives sign and verify of each algorithm with an increasing number of
+ * threads and reports the throughput curve, the scaling efficiency and a
+ * contention profile for every step. Exits with status 1 if the efficiency of
+ * any step falls below <code>--min-efficiency</code>.<br />
+ * <br />
+ * Efficiency is <code>ops/s(n) / (n * ops/s(1))</code>. The contention profile
+ * comes from {@linkplain ThreadMXBean} (time spent blocked on monitors or
+ * waiting, e.g. on a <code>SecureRandom</code> or provider lookup lock) and
+ * from sampling the locks the workers are parked on. Virtual threads are not
+ * visible to the MXBean so only throughput is reported for them, they require
+ * Java 21 or later and are skipped otherwise.<br />
+ * <br />
+ * Options (all optional):
+ *
+ * <pre>
+ * --algorithms HS256,RS256   algorithms to drive (default: all registered)
+ * --operations sign,verify   operations to drive (default: both)
+ * --threads 1,2,4,8          thread counts, 1 is always measured as the baseline
+ *                            (default: powers of two up to the core count)
+ * --payload 1024             payload size in bytes
+ * --warmup 1                 warm up seconds per step
+ * --duration 3               measured seconds per step
+ * --virtual                  also run every step with virtual threads
+ * --min-efficiency 0.7       fail below this efficiency (default: 0, never fail)
+ * </pre>
+ */
+public final class ScalabilityHarness {
+    private static final long SAMPLE_INTERVAL_MS = 10;
+    private static final int TOP_LOCKS = 3;
+
+    private static final class Step {
+        private final int threads;
+        private final double opsPerSecond;
+        private long blockedCount;
+        private long blockedMs;
+        private long waitedCount;
+        private long waitedMs;
+        private Map<String, Integer> locks = new HashMap<>();
+
+        Step(int threads, double opsPerSecond) {
+            this.threads = threads;
+            this.opsPerSecond = opsPerSecond;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = ScalabilityHarness.parse(args);
+
+        List<Algorithm> algorithms = new ArrayList<>();
+        if (options.containsKey("algorithms")) {
+            for (String id : options.get("algorithms").split(",")) {
+                Algorithm algorithm = Algorithms.get(id.trim());
+                if (algorithm == null) {
+                    throw new IllegalArgumentException("Unknown algorithm " + id);
+                }
+                algorithms.add(algorithm);
+            }
+        } else {
+            algorithms.addAll(Algorithms.all());
+            algorithms.sort((a, b) -> a.getId().compareTo(b.getId()));
+        }
+        List<String> operations = Arrays.asList(options.getOrDefault("operations", "sign,verify").split(","));
+        int[] threads = options.containsKey("threads") //
+                ? ScalabilityHarness.threads(options.get("threads")) //
+                : ScalabilityHarness.defaultThreads();
+        int payload = Integer.parseInt(options.getOrDefault("payload", "1024"));
+        long warmup = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("warmup", "1")));
+        long duration = TimeUnit.SECONDS.toNanos(Long.parseLong(options.getOrDefault("duration", "3")));
+        boolean virtual = options.containsKey("virtual");
+        double minEfficiency = Double.parseDouble(options.getOrDefault("min-efficiency", "0"));
+
+        ThreadMXBean mxBean = ManagementFactory.getThreadMXBean();
+        if (mxBean.isThreadContentionMonitoringSupported()) {
+            mxBean.setThreadContentionMonitoringEnabled(true);
+        }
+        Method virtualFactory = virtual ? ScalabilityHarness.virtualThreadFactory() : null;
+
+        byte[] data = Fixtures.payload(payload);
+        boolean failed = false;
+        for (Algorithm algorithm : algorithms) {
+            byte[][] keys = Fixtures.keys(algorithm);
+            byte[] signature = java.util.Base64.getDecoder().decode(algorithm.getSignature(keys[0], data));
+
+            for (String operation : operations) {
+                BooleanSupplier op;
+                switch (operation.trim()) {
+                    case "sign":
+                        op = () -> algorithm.getSignature(keys[0], data) != null;
+                        break;
+                    case "verify":
+                        op = () -> algorithm.isSignatureValid(keys[1], data, signature);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown operation " + operation);
+                }
+
+                System.out.printf("%n%s %s (%d byte payload, platform threads)%n", algorithm.getId(), operation.trim(), payload);
+                List<Step> steps = new ArrayList<>();
+                for (int count : threads) {
+                    steps.add(ScalabilityHarness.runPlatform(mxBean, op, count, warmup, duration));
+                }
+                failed |= ScalabilityHarness.report(steps, minEfficiency, true);
+
+                if (virtualFactory != null) {
+                    System.out.printf("%n%s %s (%d byte payload, virtual threads)%n", algorithm.getId(), operation.trim(), payload);
+                    steps.clear();
+                    for (int count : threads) {
+                        steps.add(ScalabilityHarness.runVirtual(virtualFactory, op, count, warmup, duration));
+                    }
+                    failed |= ScalabilityHarness.report(steps, minEfficiency, false);
+                }
+            }
+        }
+
+        if (virtual && virtualFactory == null) {
+            System.out.println("\nVirtual threads are not available on this JVM, they were skipped.");
+        }
+        if (failed) {
+            System.out.printf("%nScaling efficiency fell below %.2f%n", minEfficiency);
+            System.exit(1);
+        }
+    }
+
+    private static Step runPlatform(ThreadMXBean mxBean, BooleanSupplier op, int count, long warmup, long duration) throws InterruptedException {
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder ops = new LongAdder();
+        CountDownLatch started = new CountDownLatch(count);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Thread worker = new Thread(() -> ScalabilityHarness.work(op, started, measuring, stop, ops), "scalability-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        started.await();
+        TimeUnit.NANOSECONDS.sleep(warmup);
+
+        long[] ids = workers.stream().mapToLong(Thread::getId).toArray();
+        ThreadInfo[] before = mxBean.getThreadInfo(ids);
+        Map<String, Integer> locks = new HashMap<>();
+        measuring.set(true);
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < duration) {
+            for (ThreadInfo info : mxBean.getThreadInfo(ids)) {
+                if (info != null && info.getLockName() != null) {
+                    locks.merge(info.getLockName() + " (" + info.getThreadState() + ")", 1, Integer::sum);
+                }
+            }
+            Thread.sleep(ScalabilityHarness.SAMPLE_INTERVAL_MS);
+        }
+        measuring.set(false);
+        long elapsed = System.nanoTime() - start;
+        ThreadInfo[] after = mxBean.getThreadInfo(ids);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Step step = new Step(count, ops.sum() * 1e9 / elapsed);
+        step.locks = locks;
+        for (int i = 0; i < ids.length; i++) {
+            if (before[i] == null || after[i] == null) {
+                continue;
+            }
+            step.blockedCount += after[i].getBlockedCount() - before[i].getBlockedCount();
+            step.waitedCount += after[i].getWaitedCount() - before[i].getWaitedCount();
+            if (mxBean.isThreadContentionMonitoringEnabled()) {
+                step.blockedMs += after[i].getBlockedTime() - before[i].getBlockedTime();
+                step.waitedMs += after[i].getWaitedTime() - before[i].getWaitedTime();
+            }
+        }
+        return step;
+    }
+
+    private static Step runVirtual(Method factory, BooleanSupplier op, int count, long warmup, long duration) throws Exception {
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder ops = new LongAdder();
+        CountDownLatch started = new CountDownLatch(count);
+        long elapsed;
+        ExecutorService executor = (ExecutorService) factory.invoke(null);
+        try {
+            for (int i = 0; i < count; i++) {
+                executor.execute(() -> ScalabilityHarness.work(op, started, measuring, stop, ops));
+            }
+            started.await();
+            TimeUnit.NANOSECONDS.sleep(warmup);
+            measuring.set(true);
+            long start = System.nanoTime();
+            TimeUnit.NANOSECONDS.sleep(duration);
+            measuring.set(false);
+            elapsed = System.nanoTime() - start;
+            stop.set(true);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return new Step(count, ops.sum() * 1e9 / elapsed);
+    }
+
+    private static void work(BooleanSupplier op, CountDownLatch started, AtomicBoolean measuring, AtomicBoolean stop, LongAdder ops) {
+        started.countDown();
+        long local = 0;
+        while (!stop.get()) {
+            op.getAsBoolean();
+            if (measuring.get()) {
+                local++;
+            }
+        }
+        ops.add(local);
+    }
+
+    private static boolean report(List<Step> steps, double minEfficiency, boolean contention) {
+        boolean failed = false;
+        double base = steps.stream().filter(s -> s.threads == 1).findFirst().get().opsPerSecond;
+        if (contention) {
+            System.out.printf("%8s %14s %10s %10s %10s %10s %10s  %s%n", "threads", "ops/s", "efficiency", "blocked", "blocked ms", "waited",
+                    "waited ms", "top locks (samples)");
+        } else {
+            System.out.printf("%8s %14s %10s%n", "threads", "ops/s", "efficiency");
+        }
+        for (Step step : steps) {
+            double efficiency = step.opsPerSecond / (step.threads * base);
+            boolean low = efficiency < minEfficiency;
+            failed |= low;
+            if (contention) {
+                String locks = step.locks.entrySet().stream() //
+                        .sorted((a, b) -> b.getValue() - a.getValue()) //
+                        .limit(ScalabilityHarness.TOP_LOCKS) //
+                        .map(e -> e.getKey() + "=" + e.getValue()) //
+                        .collect(Collectors.joining(", "));
+                System.out.printf("%8d %14.0f %10.2f %10d %10d %10d %10d  %s%s%n", step.threads, step.opsPerSecond, efficiency, step.blockedCount,
+                        step.blockedMs, step.waitedCount, step.waitedMs, locks.isEmpty() ? "-" : locks, low ? "  <-- below threshold" : "");
+            } else {
+                System.out.printf("%8d %14.0f %10.2f%s%n", step.threads, step.opsPerSecond, efficiency, low ? "  <-- below threshold" : "");
+            }
+        }
+        return failed;
+    }
+
+    /*
+     * Executors.newVirtualThreadPerTaskExecutor is looked up reflectively so the
+     * harness still builds and runs on Java 17.
+     */
+    private static Method virtualThreadFactory() {
+        try {
+            return java.util.concurrent.Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    /*
+     * Efficiency is relative to a single thread, so 1 is measured first even if it
+     * was not asked for.
+     */
+    private static int[] threads(String value) {
+        List<Integer> counts = new ArrayList<>();
+        for (String t : value.split(",")) {
+            int count = Integer.parseInt(t.trim());
+            if (count < 1) {
+                throw new IllegalArgumentException("Thread counts must be positive, got " + count);
+            }
+            counts.add(count);
+        }
+        if (!counts.contains(1)) {
+            counts.add(0, 1);
+        }
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int[] defaultThreads() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 1; i < cores; i <<= 1) {
+            counts.add(i);
+        }
+        counts.add(cores);
+        return counts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (name.equals("virtual")) {
+                options.put(name, "true");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Missing value for " + args[i]);
+            }
+        }
+        return options;
+    }
+
+    private ScalabilityHarness() {
+    }
+}
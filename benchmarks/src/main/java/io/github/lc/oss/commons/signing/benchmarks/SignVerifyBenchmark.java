@@ -0,0 +1,90 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Algorithm;
+import io.github.lc.oss.commons.signing.Algorithms;
+
+/**
+ * Sign and verify cost of every built in algorithm across payload sizes,
+ * through both the <code>byte[]</code> and the Base64 <code>String</code>
+ * overloads. Throughput and sampled latency (percentiles) are both reported.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignVerifyBenchmark {
+    @Param({ "HS256", "HS384", "HS512", "RS256", "RS384", "RS512", "ES256", "ES256K", "ES384", "ES512", "ED25519", "ED448" })
+    public String algorithmId;
+
+    @Param({ "64", "1024", "16384", "1048576" })
+    public int payloadSize;
+
+    private Algorithm algorithm;
+    private byte[] privateKey;
+    private byte[] publicKey;
+    private String privateKeyString;
+    private String publicKeyString;
+    private byte[] data;
+    private String dataString;
+    private byte[] signature;
+    private String signatureString;
+
+    @Setup
+    public void setup() {
+        this.algorithm = Algorithms.get(this.algorithmId);
+        byte[][] keys = Fixtures.keys(this.algorithm);
+        this.privateKey = keys[0];
+        this.publicKey = keys[1];
+        this.privateKeyString = java.util.Base64.getEncoder().encodeToString(this.privateKey);
+        this.publicKeyString = java.util.Base64.getEncoder().encodeToString(this.publicKey);
+
+        /*
+         * The String overloads sign the UTF-8 bytes of the text, an ASCII payload
+         * keeps both variants signing the same number of bytes.
+         */
+        this.data = Fixtures.payload(this.payloadSize);
+        for (int i = 0; i < this.data.length; i++) {
+            this.data[i] = (byte) ('a' + (this.data[i] & 0x0f));
+        }
+        this.dataString = new String(this.data, StandardCharsets.US_ASCII);
+        this.signatureString = this.algorithm.getSignature(this.privateKey, this.data);
+        this.signature = java.util.Base64.getDecoder().decode(this.signatureString);
+    }
+
+    @Benchmark
+    public String signBytes() {
+        return this.algorithm.getSignature(this.privateKey, this.data);
+    }
+
+    @Benchmark
+    public String signString() {
+        return this.algorithm.getSignature(this.privateKeyString, this.dataString);
+    }
+
+    @Benchmark
+    public boolean verifyBytes() {
+        return this.algorithm.isSignatureValid(this.publicKey, this.data, this.signature);
+    }
+
+    @Benchmark
+    public boolean verifyString() {
+        return this.algorithm.isSignatureValid(this.publicKeyString, this.dataString, this.signatureString);
+    }
+}
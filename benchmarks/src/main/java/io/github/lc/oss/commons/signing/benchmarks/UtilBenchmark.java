@@ -0,0 +1,83 @@
+package io.github.lc.oss.commons.signing.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.lc.oss.commons.signing.Util;
+
+/**
+ * Cost of the {@linkplain Util} loaders against the same key material the unit
+ * tests use.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UtilBenchmark {
+    private static final String KEY_STORE = "junit.jks";
+    private static final String CERTIFICATE = "junit_eddsa_ed448.cer";
+    private static final String PRIVATE_KEY = "junit_rsa_256.key";
+
+    private Path keyStore;
+    private Path certificate;
+    private String certificateData;
+    private String privateKeyData;
+
+    @Setup
+    public void setup() throws IOException {
+        this.keyStore = Fixtures.resourceFile(UtilBenchmark.KEY_STORE);
+        this.certificate = Fixtures.resourceFile(UtilBenchmark.CERTIFICATE);
+        this.certificateData = Fixtures.resource(UtilBenchmark.CERTIFICATE);
+        this.privateKeyData = Fixtures.resource(UtilBenchmark.PRIVATE_KEY);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.keyStore);
+        Files.deleteIfExists(this.certificate);
+    }
+
+    @Benchmark
+    public KeyPair loadKeyPair() {
+        return Util.loadKeyPair(this.keyStore.toString(), "junit-rsa-256", new char[0]);
+    }
+
+    @Benchmark
+    public PublicKey loadPublicKey() {
+        return Util.loadPublicKey(this.certificate.toString());
+    }
+
+    @Benchmark
+    public PublicKey loadPublicKeyFromResource() {
+        return Util.loadPublicKeyFromResource(UtilBenchmark.CERTIFICATE);
+    }
+
+    @Benchmark
+    public PublicKey loadPublicKeyFromData() {
+        return Util.loadPublicKeyFromData(this.certificateData);
+    }
+
+    @Benchmark
+    public PrivateKey loadPrivateKeyFromData() {
+        return Util.loadPrivateKeyFromData(this.privateKeyData, "RSA");
+    }
+}
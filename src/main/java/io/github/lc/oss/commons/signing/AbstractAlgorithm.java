@@ -1,11 +1,21 @@
 package io.github.lc.oss.commons.signing;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Provider;
+import java.util.concurrent.locks.ReentrantLock;
 
 public abstract class AbstractAlgorithm implements Algorithm {
     private final String algorithm;
     private final String id;
     private final int minLength;
+    private volatile SigningMetrics metrics = SigningMetrics.NOOP;
+    private volatile Provider provider;
+    /*
+     * Serializes provider changes. Not the object's monitor, callers cannot lock
+     * it from outside and waiting on it does not pin a virtual thread.
+     */
+    private final ReentrantLock providerLock = new ReentrantLock();
 
     public AbstractAlgorithm(String id, String algorithm, int minLength) {
         this.id = id;
@@ -27,6 +37,74 @@ public abstract class AbstractAlgorithm implements Algorithm {
         return this.algorithm;
     }
 
+    public SigningMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Reports sign/verify counts, latencies, errors and key cache lookups of this
+     * algorithm to <code>metrics</code>, <code>null</code> restores the default
+     * {@linkplain SigningMetrics#NOOP}.
+     */
+    public void setMetrics(SigningMetrics metrics) {
+        this.metrics = metrics == null ? SigningMetrics.NOOP : metrics;
+    }
+
+    /**
+     * @return The provider this algorithm is bound to, <code>null</code> if it
+     *         uses the default provider order
+     */
+    public Provider getProvider() {
+        return this.provider;
+    }
+
+    /**
+     * Binds every engine and key factory of this algorithm to
+     * <code>provider</code>, <code>null</code> restores the default provider
+     * order. Pooled engines of the previous provider are discarded, handles that
+     * were already created (e.g. {@linkplain PreparedHmac}) keep theirs. See
+     * {@linkplain Algorithms#calibrateProviders(java.util.Set, int)} to pick the
+     * fastest one.
+     *
+     * @throws IllegalArgumentException if <code>provider</code> does not
+     *                                  implement this algorithm
+     */
+    public void setProvider(Provider provider) {
+        if (provider != null) {
+            try {
+                this.checkProvider(provider);
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalArgumentException(String.format("%s does not support %s", provider.getName(), this.getId()), ex);
+            }
+        }
+
+        this.providerLock.lock();
+        try {
+            this.provider = provider;
+            this.providerChanged(provider);
+        } finally {
+            this.providerLock.unlock();
+        }
+    }
+
+    /**
+     * Held while the provider is changed, reentrant so that a holder can switch
+     * providers itself (see {@linkplain ProviderCalibration}).
+     */
+    ReentrantLock providerLock() {
+        return this.providerLock;
+    }
+
+    /**
+     * Throws if <code>provider</code> lacks any of the services this algorithm
+     * needs.
+     */
+    void checkProvider(Provider provider) throws GeneralSecurityException {
+    }
+
+    void providerChanged(Provider provider) {
+    }
+
     @Override
     public String getSignature(String secret, String data) {
         return this.getSignature(this.fromBase64(secret), data.getBytes(StandardCharsets.UTF_8));
@@ -43,10 +121,67 @@ public abstract class AbstractAlgorithm implements Algorithm {
     }
 
     protected String toBase64(byte[] data) {
-        return java.util.Base64.getEncoder().withoutPadding().encodeToString(data);
+        return Base64Codec.STANDARD.encode(data);
     }
 
     protected byte[] fromBase64(String data) {
-        return java.util.Base64.getDecoder().decode(data);
+        return Base64Codec.STANDARD.decode(data);
+    }
+
+    /**
+     * Initializes the providers and engines behind this algorithm ahead of the
+     * first real operation, see {@linkplain Algorithms#warmUp(java.util.Set)}.
+     * Does nothing by default.
+     */
+    void prime() throws GeneralSecurityException {
+    }
+
+    /*
+     * Instrumentation helpers. The clock is only read when metrics are enabled,
+     * otherwise the start time is 0 and nothing is recorded. Callers pass
+     * startTimer() as the first argument of signed()/verified() so that it is
+     * evaluated before the operation itself.
+     */
+    long startTimer() {
+        return this.metrics == SigningMetrics.NOOP ? 0 : System.nanoTime();
+    }
+
+    String signed(long start, String signature) {
+        this.signed(start);
+        return signature;
+    }
+
+    int signed(long start, int length) {
+        this.signed(start);
+        return length;
+    }
+
+    boolean verified(long start, boolean valid) {
+        SigningMetrics metrics = this.metrics;
+        if (start != 0 && metrics != SigningMetrics.NOOP) {
+            metrics.verified(this.id, valid, System.nanoTime() - start);
+        }
+        return valid;
+    }
+
+    void failed() {
+        SigningMetrics metrics = this.metrics;
+        if (metrics != SigningMetrics.NOOP) {
+            metrics.failed(this.id);
+        }
+    }
+
+    void keyCacheAccessed(boolean hit) {
+        SigningMetrics metrics = this.metrics;
+        if (metrics != SigningMetrics.NOOP) {
+            metrics.keyCacheAccessed(this.id, hit);
+        }
+    }
+
+    private void signed(long start) {
+        SigningMetrics metrics = this.metrics;
+        if (start != 0 && metrics != SigningMetrics.NOOP) {
+            metrics.signed(this.id, System.nanoTime() - start);
+        }
     }
 }
@@ -1,9 +1,18 @@
 package io.github.lc.oss.commons.signing;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.KeyFactory;
 import java.security.NoSuchAlgorithmException;
 import java.security.PrivateKey;
+import java.security.Provider;
 import java.security.PublicKey;
 import java.security.Signature;
 import java.security.SignatureException;
@@ -12,6 +21,10 @@ import java.security.spec.PKCS8EncodedKeySpec;
 import java.security.spec.X509EncodedKeySpec;
 
 public abstract class AbstractKeyAlgorithm extends AbstractAlgorithm {
+    private volatile String privateCacheType;
+    private volatile String publicCacheType;
+    private volatile EnginePool<Signature> signatures;
+    private volatile KeyCache keyCache;
 
     protected abstract String getKeyType();
 
@@ -19,36 +32,443 @@ public abstract class AbstractKeyAlgorithm extends AbstractAlgorithm {
 
     public AbstractKeyAlgorithm(String id, String algorithm, int minLength) {
         super(id, algorithm, minLength);
+        this.providerChanged(null);
     }
 
+    public KeyCache getKeyCache() {
+        return this.keyCache;
+    }
+
+    /**
+     * Enables caching of decoded keys for this algorithm, <code>null</code>
+     * disables caching (default). Private keys are only cached once they have
+     * passed the {@linkplain #isKeyTooShort(PrivateKey)} check.
+     */
+    public void setKeyCache(KeyCache keyCache) {
+        this.keyCache = keyCache;
+    }
+
+    /*
+     * Providers are only selected once an engine is initialized with a key, which
+     * requires the synthetic operations of a warm up.
+     */
     @Override
-    public String getSignature(byte[] secret, byte[] data) {
+    void prime() throws GeneralSecurityException {
+        this.newKeyFactory();
+        EnginePool<Signature> signatures = this.signatures;
+        signatures.release(signatures.acquire());
+    }
+
+    @Override
+    void checkProvider(Provider provider) throws GeneralSecurityException {
+        Signature.getInstance(this.getAlgorithm(), provider);
+        KeyFactory.getInstance(this.getKeyType(), provider);
+    }
+
+    /*
+     * Each pool is bound to a single provider, in flight operations release their
+     * engines to the pool they came from. Keys decoded by different providers are
+     * cached separately.
+     */
+    @Override
+    void providerChanged(Provider provider) {
+        String prefix = provider == null ? this.getId() : this.getId() + "/" + provider.getName();
+        this.privateCacheType = prefix + "/private";
+        this.publicCacheType = prefix + "/public";
+        this.signatures = new EnginePool<>(
+                () -> provider == null ? Signature.getInstance(this.getAlgorithm()) : Signature.getInstance(this.getAlgorithm(), provider));
+    }
+
+    @Override
+    public Signer newSigner(PrivateKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is required");
+        }
+        if (this.isKeyTooShort(key)) {
+            throw new RuntimeException("Key is too short");
+        }
+        return new KeySigner(this, key);
+    }
+
+    @Override
+    public Verifier newVerifier(PublicKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is required");
+        }
+        return new KeyVerifier(this, key);
+    }
+
+    @Override
+    public Signer newSigner(byte[] secret) {
+        return new KeySigner(this, this.toPrivateKey(secret));
+    }
+
+    @Override
+    public Verifier newVerifier(byte[] secret) {
+        return new KeyVerifier(this, this.toPublicKey(secret));
+    }
+
+    @Override
+    public String getSignature(String secret, String data) {
+        KeyCache cache = this.keyCache;
+        if (cache == null) {
+            return super.getSignature(secret, data);
+        }
+
+        PrivateKey key;
         try {
-            PrivateKey key = KeyFactory.getInstance(this.getKeyType()).generatePrivate(new PKCS8EncodedKeySpec(secret));
-            if (this.isKeyTooShort(key)) {
-                throw new RuntimeException("Key is too short");
-            }
-            Signature signature = Signature.getInstance(this.getAlgorithm());
-            signature.initSign(key);
-            signature.update(data);
-            return this.toBase64(signature.sign());
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException | SignatureException | InvalidKeyException ex) {
+            key = cache.get(this.privateCacheType, secret, () -> this.decodePrivateKey(this.fromBase64(secret)), this);
+        } catch (GeneralSecurityException ex) {
+            this.failed();
             throw new RuntimeException("Error signing data", ex);
         }
+        return this.sign(key, data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, byte[] data) {
+        return this.sign(this.toPrivateKey(secret), data);
+    }
+
+    @Override
+    public String getSignature(byte[] secret, InputStream data) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, ReadableByteChannel data) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, Path data) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data));
+    }
+
+    @Override
+    public String getMappedSignature(byte[] secret, Path data) {
+        return this.sign(this.toPrivateKey(secret), Payloads.mapped(data));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, ByteBuffer[] data) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data));
+    }
+
+    @Override
+    public int getSignature(byte[] secret, byte[] data, char[] out, int offset) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data), out, offset);
+    }
+
+    @Override
+    public int sign(byte[] secret, ByteBuffer[] data, ByteBuffer out) {
+        return this.sign(this.toPrivateKey(secret), Payloads.of(data), out);
+    }
+
+    @Override
+    public boolean isSignatureValid(String secret, String data, String signature) {
+        KeyCache cache = this.keyCache;
+        if (cache == null) {
+            return super.isSignatureValid(secret, data, signature);
+        }
+
+        PublicKey key;
+        try {
+            key = cache.get(this.publicCacheType, secret, () -> this.decodePublicKey(this.fromBase64(secret)), this);
+        } catch (GeneralSecurityException ex) {
+            this.failed();
+            throw new RuntimeException("Error validating data", ex);
+        }
+        return this.verify(key, Payloads.of(data.getBytes(StandardCharsets.UTF_8)), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, byte[] data, String signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, byte[] data, char[] signature, int offset, int length) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature, offset, length);
     }
 
     @Override
     public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+        return this.verify(this.toPublicKey(secret), data, signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, InputStream data, byte[] signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, ReadableByteChannel data, byte[] signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, Path data, byte[] signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature);
+    }
+
+    @Override
+    public boolean isMappedSignatureValid(byte[] secret, Path data, byte[] signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.mapped(data), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, ByteBuffer[] data, ByteBuffer signature) {
+        return this.verify(this.toPublicKey(secret), Payloads.of(data), signature);
+    }
+
+    private PrivateKey toPrivateKey(byte[] secret) {
+        try {
+            KeyCache cache = this.keyCache;
+            if (cache == null) {
+                return this.decodePrivateKey(secret);
+            }
+            return cache.get(this.privateCacheType, secret, () -> this.decodePrivateKey(secret), this);
+        } catch (GeneralSecurityException ex) {
+            this.failed();
+            throw new RuntimeException("Error signing data", ex);
+        }
+    }
+
+    private PublicKey toPublicKey(byte[] secret) {
+        try {
+            KeyCache cache = this.keyCache;
+            if (cache == null) {
+                return this.decodePublicKey(secret);
+            }
+            return cache.get(this.publicCacheType, secret, () -> this.decodePublicKey(secret), this);
+        } catch (GeneralSecurityException ex) {
+            this.failed();
+            throw new RuntimeException("Error validating data", ex);
+        }
+    }
+
+    private PrivateKey decodePrivateKey(byte[] secret) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        KeyDecodeEvent event = KeyDecodeEvent.start(this, KeyDecodeEvent.PRIVATE);
+        KeyFactory factory = this.newKeyFactory();
+        KeyDecodeEvent.lapProviderLookup(event);
+        PrivateKey key = factory.generatePrivate(new PKCS8EncodedKeySpec(secret));
+        if (this.isKeyTooShort(key)) {
+            throw new RuntimeException("Key is too short");
+        }
+        KeyDecodeEvent.lapDecode(event);
+        KeyDecodeEvent.complete(event, secret);
+        return key;
+    }
+
+    private PublicKey decodePublicKey(byte[] secret) throws InvalidKeySpecException, NoSuchAlgorithmException {
+        KeyDecodeEvent event = KeyDecodeEvent.start(this, KeyDecodeEvent.PUBLIC);
+        KeyFactory factory = this.newKeyFactory();
+        KeyDecodeEvent.lapProviderLookup(event);
+        PublicKey key = factory.generatePublic(new X509EncodedKeySpec(secret));
+        KeyDecodeEvent.lapDecode(event);
+        KeyDecodeEvent.complete(event, secret);
+        return key;
+    }
+
+    private KeyFactory newKeyFactory() throws NoSuchAlgorithmException {
+        Provider provider = this.getProvider();
+        return provider == null ? KeyFactory.getInstance(this.getKeyType()) : KeyFactory.getInstance(this.getKeyType(), provider);
+    }
+
+    String sign(PrivateKey key, byte[] data) {
+        return this.sign(key, Payloads.of(data));
+    }
+
+    String sign(PrivateKey key, Payload data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        byte[] buffer = Payloads.buffer(Payloads.BUFFER_SIZE);
+        try {
+            int length = this.sign(key, data, buffer, 0, event);
+            String signature = Base64Codec.STANDARD.encode(buffer, 0, length);
+            SignatureEvent.lapBase64(event);
+            SignatureEvent.complete(event);
+            return signature;
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    int sign(PrivateKey key, Payload data, char[] out, int offset) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        byte[] buffer = Payloads.buffer(Payloads.BUFFER_SIZE);
+        try {
+            int length = this.sign(key, data, buffer, 0, event);
+            int chars = Base64Codec.STANDARD.encode(buffer, 0, length, out, offset);
+            SignatureEvent.lapBase64(event);
+            SignatureEvent.complete(event);
+            return chars;
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Error signing data", ex);
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    /*
+     * Writes the raw signature directly into heap buffers, direct buffers receive
+     * a copy.
+     */
+    int sign(PrivateKey key, Payload data, ByteBuffer out) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        try {
+            int length;
+            if (out.hasArray()) {
+                length = this.sign(key, data, out.array(), out.arrayOffset() + out.position(), out.remaining(), event);
+                out.position(out.position() + length);
+            } else {
+                byte[] buffer = Payloads.buffer(Payloads.BUFFER_SIZE);
+                try {
+                    length = this.sign(key, data, buffer, 0, event);
+                    out.put(buffer, 0, length);
+                } finally {
+                    Payloads.release(buffer);
+                }
+            }
+            SignatureEvent.complete(event);
+            return length;
+        } catch (BufferOverflowException ex) {
+            throw new RuntimeException("Error signing data", ex);
+        }
+    }
+
+    private int sign(PrivateKey key, Payload data, byte[] out, int offset, SignatureEvent event) {
+        return this.sign(key, data, out, offset, out.length - offset, event);
+    }
+
+    private int sign(PrivateKey key, Payload data, byte[] out, int offset, int length, SignatureEvent event) {
+        long start = this.startTimer();
+        EnginePool<Signature> signatures = this.signatures;
         try {
-            PublicKey key = KeyFactory.getInstance(this.getKeyType()).generatePublic(new X509EncodedKeySpec(secret));
-            Signature sig = Signature.getInstance(this.getAlgorithm());
-            sig.initVerify(key);
-            sig.update(data);
-            return sig.verify(signature);
-        } catch (InvalidKeySpecException | NoSuchAlgorithmException | InvalidKeyException ex) {
+            Signature signature = this.initSign(signatures, key, event);
+            data.writeTo(SignatureEvent.count(event, Sink.of(signature)));
+            SignatureEvent.lapUpdate(event);
+            int result = signature.sign(out, offset, length);
+            SignatureEvent.lapFinal(event);
+            signatures.release(signature);
+            return this.signed(start, result);
+        } catch (GeneralSecurityException | IOException ex) {
+            this.failed();
+            throw new RuntimeException("Error signing data", ex);
+        }
+    }
+
+    boolean verify(PublicKey key, byte[] data, byte[] signature) {
+        return this.verify(key, Payloads.of(data), signature);
+    }
+
+    boolean verify(PublicKey key, Payload data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        return SignatureEvent.complete(event, key, this.verify(key, data, signature, 0, signature.length, event));
+    }
+
+    /*
+     * Base64 signatures are decoded into a pooled buffer instead of a new array.
+     */
+    boolean verify(PublicKey key, Payload data, CharSequence signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature));
+        try {
+            int length = Base64Codec.STANDARD.decode(signature, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return SignatureEvent.complete(event, key, this.verify(key, data, buffer, 0, length, event));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    boolean verify(PublicKey key, Payload data, char[] signature, int offset, int length) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature, offset, length));
+        try {
+            int decoded = Base64Codec.STANDARD.decode(signature, offset, length, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return SignatureEvent.complete(event, key, this.verify(key, data, buffer, 0, decoded, event));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    boolean verify(PublicKey key, Payload data, ByteBuffer signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        if (signature.hasArray()) {
+            boolean result = this.verify(key, data, signature.array(), signature.arrayOffset() + signature.position(), signature.remaining(), event);
+            signature.position(signature.limit());
+            return SignatureEvent.complete(event, key, result);
+        }
+
+        int length = signature.remaining();
+        byte[] buffer = Payloads.buffer(length);
+        try {
+            signature.get(buffer, 0, length);
+            return SignatureEvent.complete(event, key, this.verify(key, data, buffer, 0, length, event));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    private boolean verify(PublicKey key, Payload data, byte[] signature, int offset, int length, SignatureEvent event) {
+        long start = this.startTimer();
+        EnginePool<Signature> signatures = this.signatures;
+        Signature sig;
+        try {
+            sig = this.initVerify(signatures, key, event);
+        } catch (GeneralSecurityException ex) {
+            this.failed();
             throw new RuntimeException("Error validating data", ex);
+        }
+
+        try {
+            data.writeTo(SignatureEvent.count(event, Sink.of(sig)));
+            SignatureEvent.lapUpdate(event);
+            boolean result = sig.verify(signature, offset, length);
+            SignatureEvent.lapFinal(event);
+            signatures.release(sig);
+            return this.verified(start, result);
         } catch (SignatureException e) {
-            return false;
+            // malformed signatures are rejected by the final verify
+            SignatureEvent.lapFinal(event);
+            return this.verified(start, false);
+        } catch (GeneralSecurityException | IOException ex) {
+            this.failed();
+            throw new RuntimeException("Error validating data", ex);
+        }
+    }
+
+    /*
+     * Engines are only returned to the pool after a successful operation. A pooled
+     * engine is bound to the provider chosen for the first key it saw, keys from a
+     * different provider get a fresh engine so that provider selection happens
+     * again (unless the algorithm is bound to a provider).
+     */
+    private Signature initSign(EnginePool<Signature> signatures, PrivateKey key, SignatureEvent event) throws GeneralSecurityException {
+        Signature signature = signatures.acquire();
+        SignatureEvent.lapEngine(event);
+        try {
+            signature.initSign(key);
+        } catch (InvalidKeyException ex) {
+            signature = signatures.create();
+            signature.initSign(key);
+        }
+        SignatureEvent.lapInit(event);
+        return signature;
+    }
+
+    private Signature initVerify(EnginePool<Signature> signatures, PublicKey key, SignatureEvent event) throws GeneralSecurityException {
+        Signature signature = signatures.acquire();
+        SignatureEvent.lapEngine(event);
+        try {
+            signature.initVerify(key);
+        } catch (InvalidKeyException ex) {
+            signature = signatures.create();
+            signature.initVerify(key);
         }
+        SignatureEvent.lapInit(event);
+        return signature;
     }
 }
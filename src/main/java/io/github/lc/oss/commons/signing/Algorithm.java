@@ -1,5 +1,15 @@
 package io.github.lc.oss.commons.signing;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
 public interface Algorithm {
     String getId();
 
@@ -14,4 +24,208 @@ public interface Algorithm {
     boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature);
 
     int getMinBitLength();
+
+    /**
+     * Streaming variant of {@linkplain #getSignature(byte[], byte[])}. The default
+     * implementation reads the entire stream into memory, implementations are
+     * expected to override it with one that does not. The stream is not closed.
+     */
+    default String getSignature(byte[] secret, InputStream data) {
+        try {
+            return this.getSignature(secret, data.readAllBytes());
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading data", ex);
+        }
+    }
+
+    /**
+     * Streaming variant of {@linkplain #getSignature(byte[], byte[])}, the channel
+     * is read until end of stream but not closed.
+     */
+    default String getSignature(byte[] secret, ReadableByteChannel data) {
+        return this.getSignature(secret, Channels.newInputStream(data));
+    }
+
+    /**
+     * Signs the contents of a file without loading it into memory.
+     */
+    default String getSignature(byte[] secret, Path data) {
+        try (InputStream is = Files.newInputStream(data)) {
+            return this.getSignature(secret, is);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading data", ex);
+        }
+    }
+
+    /**
+     * Signs the contents of a file by memory mapping it instead of reading it
+     * through a buffer. Useful for very large files, for small files
+     * {@linkplain #getSignature(byte[], Path)} is typically as fast. The default
+     * implementation falls back to that method. Note that pure EdDSA providers
+     * buffer the whole message internally regardless of how it is supplied.
+     */
+    default String getMappedSignature(byte[] secret, Path data) {
+        return this.getSignature(secret, data);
+    }
+
+    /**
+     * Streaming variant of {@linkplain #isSignatureValid(byte[], byte[], byte[])}.
+     * The default implementation reads the entire stream into memory. The stream
+     * is not closed.
+     */
+    default boolean isSignatureValid(byte[] secret, InputStream data, byte[] signature) {
+        try {
+            return this.isSignatureValid(secret, data.readAllBytes(), signature);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading data", ex);
+        }
+    }
+
+    default boolean isSignatureValid(byte[] secret, ReadableByteChannel data, byte[] signature) {
+        return this.isSignatureValid(secret, Channels.newInputStream(data), signature);
+    }
+
+    default boolean isSignatureValid(byte[] secret, Path data, byte[] signature) {
+        try (InputStream is = Files.newInputStream(data)) {
+            return this.isSignatureValid(secret, is, signature);
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading data", ex);
+        }
+    }
+
+    /**
+     * Memory mapped variant of {@linkplain #isSignatureValid(byte[], Path, byte[])},
+     * see {@linkplain #getMappedSignature(byte[], Path)}.
+     */
+    default boolean isMappedSignatureValid(byte[] secret, Path data, byte[] signature) {
+        return this.isSignatureValid(secret, data, signature);
+    }
+
+    /**
+     * Signs the remaining bytes of <code>data</code>, consuming the buffer.
+     */
+    default String getSignature(byte[] secret, ByteBuffer data) {
+        return this.getSignature(secret, new ByteBuffer[] { data });
+    }
+
+    /**
+     * Signs the remaining bytes of each buffer in order as if they were one
+     * contiguous message (e.g. headers followed by a body), consuming the buffers.
+     * The default implementation copies the buffers into a single array,
+     * implementations are expected to override it with one that does not.
+     */
+    default String getSignature(byte[] secret, ByteBuffer[] data) {
+        return this.getSignature(secret, Algorithm.toArray(data));
+    }
+
+    default int sign(byte[] secret, ByteBuffer data, ByteBuffer out) {
+        return this.sign(secret, new ByteBuffer[] { data }, out);
+    }
+
+    /**
+     * Signs the remaining bytes of each buffer and writes the raw (not Base64
+     * encoded) signature to <code>out</code> starting at its current position.
+     *
+     * @return The number of bytes written to <code>out</code>
+     */
+    default int sign(byte[] secret, ByteBuffer[] data, ByteBuffer out) {
+        byte[] signature = Base64Codec.STANDARD.decode(this.getSignature(secret, data));
+        out.put(signature);
+        return signature.length;
+    }
+
+    /**
+     * Writes the Base64 encoded signature of <code>data</code> to <code>out</code>
+     * starting at <code>offset</code>, see {@linkplain Base64Codec#STANDARD}.
+     * Lets callers reuse a character buffer instead of receiving a new
+     * {@linkplain String} per signature.
+     *
+     * @return The number of characters written to <code>out</code>
+     */
+    default int getSignature(byte[] secret, byte[] data, char[] out, int offset) {
+        String signature = this.getSignature(secret, data);
+        signature.getChars(0, signature.length(), out, offset);
+        return signature.length();
+    }
+
+    /**
+     * Verifies the Base64 encoded signature held in
+     * <code>signature[offset, offset + length)</code>.
+     */
+    default boolean isSignatureValid(byte[] secret, byte[] data, char[] signature, int offset, int length) {
+        byte[] sig = new byte[Base64Codec.STANDARD.decodedLength(signature, offset, length)];
+        Base64Codec.STANDARD.decode(signature, offset, length, sig, 0);
+        return this.isSignatureValid(secret, data, sig);
+    }
+
+    default boolean isSignatureValid(byte[] secret, ByteBuffer data, ByteBuffer signature) {
+        return this.isSignatureValid(secret, new ByteBuffer[] { data }, signature);
+    }
+
+    /**
+     * Verifies the remaining bytes of <code>signature</code> (raw, not Base64
+     * encoded) against the remaining bytes of each data buffer. All buffers are
+     * consumed.
+     */
+    default boolean isSignatureValid(byte[] secret, ByteBuffer[] data, ByteBuffer signature) {
+        byte[] sig = new byte[signature.remaining()];
+        signature.get(sig);
+        return this.isSignatureValid(secret, Algorithm.toArray(data), sig);
+    }
+
+    /**
+     * @return A reusable {@linkplain Signer} bound to <code>key</code>. The key is
+     *         validated once here instead of on every call.
+     * @throws UnsupportedOperationException if this algorithm does not use
+     *                                       asymmetric keys
+     */
+    default Signer newSigner(PrivateKey key) {
+        throw new UnsupportedOperationException(String.format("%s does not support private keys", this.getId()));
+    }
+
+    /**
+     * @return A reusable {@linkplain Signer} bound to the encoded key
+     *         <code>secret</code>, as accepted by
+     *         {@linkplain #getSignature(byte[], byte[])}. Implementations decode
+     *         and validate the key once, the default implementation simply
+     *         forwards every call to this algorithm.
+     */
+    default Signer newSigner(byte[] secret) {
+        return new DelegatingSigner(this, secret == null ? null : secret.clone());
+    }
+
+    /**
+     * @return A reusable {@linkplain Verifier} bound to the encoded key
+     *         <code>secret</code>, as accepted by
+     *         {@linkplain #isSignatureValid(byte[], byte[], byte[])}.
+     *         Implementations decode and validate the key once, the default
+     *         implementation simply forwards every call to this algorithm.
+     */
+    default Verifier newVerifier(byte[] secret) {
+        return new DelegatingVerifier(this, secret == null ? null : secret.clone());
+    }
+
+    /**
+     * @return A reusable {@linkplain Verifier} bound to <code>key</code>.
+     * @throws UnsupportedOperationException if this algorithm does not use
+     *                                       asymmetric keys
+     */
+    default Verifier newVerifier(PublicKey key) {
+        throw new UnsupportedOperationException(String.format("%s does not support public keys", this.getId()));
+    }
+
+    private static byte[] toArray(ByteBuffer[] data) {
+        int length = 0;
+        for (ByteBuffer buffer : data) {
+            length += buffer.remaining();
+        }
+        byte[] array = new byte[length];
+        int offset = 0;
+        for (ByteBuffer buffer : data) {
+            int remaining = buffer.remaining();
+            buffer.get(array, offset, remaining);
+            offset += remaining;
+        }
+        return array;
+    }
 }
@@ -0,0 +1,151 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms for a single algorithm, see
+ * {@linkplain InMemoryMetrics#get(String)}. Instances can be registered with an
+ * MBean server as they are.
+ */
+public final class AlgorithmMetrics implements AlgorithmMetricsMXBean {
+    private final String algorithmId;
+    private final LongAdder signs = new LongAdder();
+    private final LongAdder verifies = new LongAdder();
+    private final LongAdder verifyFailures = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder keyCacheHits = new LongAdder();
+    private final LongAdder keyCacheMisses = new LongAdder();
+    private final LatencyHistogram signLatency = new LatencyHistogram();
+    private final LatencyHistogram verifyLatency = new LatencyHistogram();
+
+    AlgorithmMetrics(String algorithmId) {
+        this.algorithmId = algorithmId;
+    }
+
+    void signed(long nanos) {
+        this.signs.increment();
+        this.signLatency.record(nanos);
+    }
+
+    void verified(boolean valid, long nanos) {
+        this.verifies.increment();
+        if (!valid) {
+            this.verifyFailures.increment();
+        }
+        this.verifyLatency.record(nanos);
+    }
+
+    void failed() {
+        this.errors.increment();
+    }
+
+    void keyCacheAccessed(boolean hit) {
+        if (hit) {
+            this.keyCacheHits.increment();
+        } else {
+            this.keyCacheMisses.increment();
+        }
+    }
+
+    public LatencyHistogram getSignLatency() {
+        return this.signLatency;
+    }
+
+    public LatencyHistogram getVerifyLatency() {
+        return this.verifyLatency;
+    }
+
+    @Override
+    public String getAlgorithmId() {
+        return this.algorithmId;
+    }
+
+    @Override
+    public long getSigns() {
+        return this.signs.sum();
+    }
+
+    @Override
+    public long getVerifies() {
+        return this.verifies.sum();
+    }
+
+    @Override
+    public long getVerifyFailures() {
+        return this.verifyFailures.sum();
+    }
+
+    @Override
+    public long getErrors() {
+        return this.errors.sum();
+    }
+
+    @Override
+    public long getKeyCacheHits() {
+        return this.keyCacheHits.sum();
+    }
+
+    @Override
+    public long getKeyCacheMisses() {
+        return this.keyCacheMisses.sum();
+    }
+
+    @Override
+    public double getKeyCacheHitRate() {
+        long hits = this.keyCacheHits.sum();
+        long lookups = hits + this.keyCacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public double getSignLatencyMean() {
+        return this.signLatency.getMean();
+    }
+
+    @Override
+    public long getSignLatencyP50() {
+        return this.signLatency.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getSignLatencyP99() {
+        return this.signLatency.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getSignLatencyMax() {
+        return this.signLatency.getMax();
+    }
+
+    @Override
+    public double getVerifyLatencyMean() {
+        return this.verifyLatency.getMean();
+    }
+
+    @Override
+    public long getVerifyLatencyP50() {
+        return this.verifyLatency.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getVerifyLatencyP99() {
+        return this.verifyLatency.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getVerifyLatencyMax() {
+        return this.verifyLatency.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.signs.reset();
+        this.verifies.reset();
+        this.verifyFailures.reset();
+        this.errors.reset();
+        this.keyCacheHits.reset();
+        this.keyCacheMisses.reset();
+        this.signLatency.reset();
+        this.verifyLatency.reset();
+    }
+}
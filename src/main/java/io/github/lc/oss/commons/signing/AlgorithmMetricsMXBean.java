@@ -0,0 +1,44 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * Management view of the counters {@linkplain InMemoryMetrics} keeps for one
+ * algorithm. Latencies are in nanoseconds.
+ */
+public interface AlgorithmMetricsMXBean {
+    String getAlgorithmId();
+
+    long getSigns();
+
+    long getVerifies();
+
+    long getVerifyFailures();
+
+    long getErrors();
+
+    long getKeyCacheHits();
+
+    long getKeyCacheMisses();
+
+    /**
+     * @return Hits divided by lookups, zero if the key cache was never used
+     */
+    double getKeyCacheHitRate();
+
+    double getSignLatencyMean();
+
+    long getSignLatencyP50();
+
+    long getSignLatencyP99();
+
+    long getSignLatencyMax();
+
+    double getVerifyLatencyMean();
+
+    long getVerifyLatencyP50();
+
+    long getVerifyLatencyP99();
+
+    long getVerifyLatencyMax();
+
+    void reset();
+}
@@ -1,10 +1,18 @@
 package io.github.lc.oss.commons.signing;
 
+import java.security.Provider;
+import java.time.Duration;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 public class Algorithms {
     public static final Algorithm HS256 = new HmacAlgorithm("HS256", "HmacSHA256", 256);
@@ -23,6 +31,13 @@ public class Algorithms {
     public static final Algorithm ED25519 = new EddsaAlgorithm("ED25519", "Ed25519", 255);
     public static final Algorithm ED448 = new EddsaAlgorithm("ED448", "Ed448", 448);
 
+    /*
+     * Registrations are rare while lookups happen on every request. Each
+     * registration publishes a new immutable snapshot so that readers never lock
+     * or allocate.
+     */
+    private static final AtomicReference<Registry> REGISTRY = new AtomicReference<>(new Registry(Collections.emptyMap()));
+
     static {
         Algorithms.register(Algorithms.HS256);
         Algorithms.register(Algorithms.HS384);
@@ -41,14 +56,43 @@ public class Algorithms {
         Algorithms.register(Algorithms.ED448);
     }
 
-    private static class Cache {
-        public static Map<String, Algorithm> ALL = new HashMap<>();
-        public static Map<String, Algorithm> HMAC = new HashMap<>();
-        public static Map<String, Algorithm> KEY = new HashMap<>();
+    private static final class Registry {
+        private final Map<String, Algorithm> byId;
+        private final Set<Algorithm> all;
+        private final Set<Algorithm> hmac;
+        private final Set<Algorithm> key;
+
+        Registry(Map<String, Algorithm> byId) {
+            this.byId = byId;
+            Set<Algorithm> hmac = new HashSet<>();
+            Set<Algorithm> key = new HashSet<>();
+            for (Algorithm alg : byId.values()) {
+                if (alg instanceof HmacAlgorithm) {
+                    hmac.add(alg);
+                } else if (alg instanceof AbstractKeyAlgorithm) {
+                    key.add(alg);
+                }
+            }
+            this.all = Collections.unmodifiableSet(new HashSet<>(byId.values()));
+            this.hmac = Collections.unmodifiableSet(hmac);
+            this.key = Collections.unmodifiableSet(key);
+        }
+
+        Registry with(Algorithm alg) {
+            Map<String, Algorithm> byId = new HashMap<>(this.byId);
+            byId.put(alg.getId(), alg);
+            return new Registry(byId);
+        }
+
+        Registry without(String id) {
+            Map<String, Algorithm> byId = new HashMap<>(this.byId);
+            byId.remove(id);
+            return new Registry(byId);
+        }
     }
 
     public static Set<Algorithm> all() {
-        return Collections.unmodifiableSet(new HashSet<>(Cache.ALL.values()));
+        return Algorithms.REGISTRY.get().all;
     }
 
     /**
@@ -56,7 +100,7 @@ public class Algorithms {
      *         {@linkplain HmacAlgorithm} (e.g. HS256, HS384, HS512, etc.)
      */
     public static Set<Algorithm> hmacAlgorithms() {
-        return Collections.unmodifiableSet(new HashSet<>(Cache.HMAC.values()));
+        return Algorithms.REGISTRY.get().hmac;
     }
 
     /**
@@ -64,44 +108,150 @@ public class Algorithms {
      *         {@linkplain AbstractKeyAlgorithm} (e.g. RS256, ES256, ED25519, etc.)
      */
     public static Set<Algorithm> keyAlgorithms() {
-        return Collections.unmodifiableSet(new HashSet<>(Cache.KEY.values()));
+        return Algorithms.REGISTRY.get().key;
+    }
+
+    /**
+     * Verifies every request, in parallel on the common fork join pool.
+     *
+     * @see #verifyAll(List, Executor)
+     */
+    public static BitSet verifyAll(List<VerifyRequest> requests) {
+        return Algorithms.verifyAll(requests, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Verifies a batch of independently signed messages. Requests are grouped by
+     * algorithm and key so that each distinct key is decoded once, the work is then
+     * split into chunks and spread across <code>executor</code>. Blocks until the
+     * whole batch is done.
+     *
+     * @return Bit <code>i</code> is set if request <code>i</code> has a valid
+     *         signature, requests with an invalid key or malformed signature are
+     *         reported as not valid
+     */
+    public static BitSet verifyAll(List<VerifyRequest> requests, Executor executor) {
+        return Batch.verifyAll(requests, executor);
+    }
+
+    /**
+     * @see #signAll(Algorithm, byte[], Iterable, Executor)
+     */
+    public static List<String> signAll(Algorithm algorithm, byte[] secret, Iterable<byte[]> data) {
+        return Algorithms.signAll(algorithm, secret, data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @see #signAll(Algorithm, byte[], Iterable, Executor)
+     */
+    public static List<String> signAll(Algorithm algorithm, byte[] secret, Stream<byte[]> data) {
+        return Algorithms.signAll(algorithm, secret, data::iterator, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Signs many messages with the same key. The key is decoded and validated once,
+     * the messages are then split into chunks and signed in parallel on
+     * <code>executor</code>. Blocks until every message is signed.
+     *
+     * @return The signatures, in the same order as <code>data</code>
+     */
+    public static List<String> signAll(Algorithm algorithm, byte[] secret, Iterable<byte[]> data, Executor executor) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+        return Batch.signAll(algorithm.newSigner(secret), data, executor);
+    }
+
+    /**
+     * Initializes the providers and engines of every algorithm in parallel, see
+     * {@linkplain #warmUp(Set, WarmUpOptions)}.
+     */
+    public static Map<Algorithm, Duration> warmUp(Set<Algorithm> algorithms) {
+        return Algorithms.warmUp(algorithms, new WarmUpOptions());
+    }
+
+    /**
+     * Primes the JCA providers, engines and, with synthetic iterations, the JIT
+     * behind the given algorithms so that the first real requests do not pay for
+     * it. Intended to be called once at startup, e.g. with
+     * {@linkplain #all()}. Algorithms are warmed up in parallel on the options'
+     * executor, blocks until all are done.
+     *
+     * @return How long each algorithm took to warm up, in iteration order of
+     *         <code>algorithms</code>
+     */
+    public static Map<Algorithm, Duration> warmUp(Set<Algorithm> algorithms, WarmUpOptions options) {
+        if (algorithms == null) {
+            throw new IllegalArgumentException("Algorithms are required");
+        }
+        return WarmUp.run(algorithms, options == null ? new WarmUpOptions() : options);
+    }
+
+    /**
+     * Micro-benchmarks every locally available provider (installed ones and any
+     * found by {@linkplain java.util.ServiceLoader}) that implements each of the
+     * given algorithms and pins the fastest correct one with
+     * {@linkplain AbstractAlgorithm#setProvider(Provider)}. A provider is correct
+     * if its signatures verify with the default provider and vice versa. Each
+     * provider is warmed up and then timed for <code>iterations</code> sign/verify
+     * rounds with {@linkplain KeyGenerator} keys.<br />
+     * <br />
+     * Algorithms are calibrated one at a time on the calling thread so that they
+     * do not skew each other's timings. Intended to run once at startup before
+     * serving traffic, while it runs the algorithms switch providers.
+     *
+     * @return The pinned provider of every algorithm that was calibrated,
+     *         algorithms other than {@linkplain AbstractAlgorithm}s are skipped
+     */
+    public static Map<Algorithm, Provider> calibrateProviders(Set<Algorithm> algorithms, int iterations) {
+        if (algorithms == null) {
+            throw new IllegalArgumentException("Algorithms are required");
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be at least 1");
+        }
+        return ProviderCalibration.run(algorithms, iterations);
     }
 
     public static Algorithm get(String id) {
-        return Cache.ALL.get(id);
+        return Algorithms.REGISTRY.get().byId.get(id);
     }
 
     public static boolean has(String id) {
-        return Cache.ALL.containsKey(id);
+        return Algorithms.REGISTRY.get().byId.containsKey(id);
     }
 
     public static Algorithm register(Algorithm alg) {
-        synchronized (Cache.ALL) {
-            if (alg == null || alg.getId() == null || alg.getId().trim().equals("")) {
-                throw new IllegalArgumentException("Algorithm and it's ID are required.");
-            }
+        Algorithms.validate(alg);
 
-            if (Cache.ALL.containsKey(alg.getId())) {
+        Registry current;
+        do {
+            current = Algorithms.REGISTRY.get();
+            if (current.byId.containsKey(alg.getId())) {
                 throw new RuntimeException(String.format("%s has already been registered", alg.getId()));
             }
-
-            if (alg instanceof HmacAlgorithm) {
-                Cache.HMAC.put(alg.getId(), alg);
-            } else if (alg instanceof AbstractKeyAlgorithm) {
-                Cache.KEY.put(alg.getId(), alg);
-            }
-
-            return Cache.ALL.put(alg.getId(), alg);
-        }
+        } while (!Algorithms.REGISTRY.compareAndSet(current, current.with(alg)));
+        return null;
     }
 
     public static Algorithm unregister(Algorithm alg) {
-        synchronized (Cache.ALL) {
-            if (alg == null || alg.getId() == null || alg.getId().trim().equals("")) {
-                throw new IllegalArgumentException("Algorithm and it's ID are required.");
+        Algorithms.validate(alg);
+
+        Registry current;
+        Algorithm removed;
+        do {
+            current = Algorithms.REGISTRY.get();
+            removed = current.byId.get(alg.getId());
+            if (removed == null) {
+                return null;
             }
+        } while (!Algorithms.REGISTRY.compareAndSet(current, current.without(alg.getId())));
+        return removed;
+    }
 
-            return Cache.ALL.remove(alg.getId());
+    private static void validate(Algorithm alg) {
+        if (alg == null || alg.getId() == null || alg.getId().trim().equals("")) {
+            throw new IllegalArgumentException("Algorithm and it's ID are required.");
         }
     }
 
@@ -0,0 +1,324 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Base64 (RFC 4648) codec that reads from and writes to caller provided
+ * buffers. Encoding never emits padding, decoding accepts input with or
+ * without it. Apart from the convenience methods returning a new
+ * {@linkplain String} or <code>byte[]</code>, no method allocates.<br />
+ * <br />
+ * Encoded output and error messages match {@linkplain java.util.Base64}.
+ */
+public final class Base64Codec {
+    public static final Base64Codec STANDARD = new Base64Codec('+', '/');
+    public static final Base64Codec URL = new Base64Codec('-', '_');
+
+    private static final char PAD = '=';
+
+    private final char[] alphabet;
+    private final byte[] bytes;
+    private final int[] values;
+
+    private Base64Codec(char c62, char c63) {
+        this.alphabet = ("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789" + c62 + c63).toCharArray();
+        this.bytes = new String(this.alphabet).getBytes(StandardCharsets.US_ASCII);
+        this.values = new int[256];
+        Arrays.fill(this.values, -1);
+        for (int i = 0; i < this.alphabet.length; i++) {
+            this.values[this.alphabet[i]] = i;
+        }
+    }
+
+    /**
+     * @return The number of characters needed to encode <code>length</code>
+     *         bytes
+     */
+    public int encodedLength(int length) {
+        return length / 3 * 4 + (length % 3 == 0 ? 0 : length % 3 + 1);
+    }
+
+    public String encode(byte[] src) {
+        return this.encode(src, 0, src.length);
+    }
+
+    public String encode(byte[] src, int offset, int length) {
+        byte[] dst = new byte[this.encodedLength(length)];
+        this.encode(src, offset, length, dst, 0);
+        return new String(dst, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * @return The number of characters written to <code>dst</code>
+     */
+    public int encode(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        this.checkCapacity(this.encodedLength(length), dst.length - dstOffset, "encoding");
+        int out = dstOffset;
+        int end = offset + length - length % 3;
+        for (int i = offset; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[out++] = this.alphabet[bits >>> 18];
+            dst[out++] = this.alphabet[bits >>> 12 & 0x3f];
+            dst[out++] = this.alphabet[bits >>> 6 & 0x3f];
+            dst[out++] = this.alphabet[bits & 0x3f];
+        }
+        if (end < offset + length) {
+            int bits = (src[end] & 0xff) << 16 | (end + 1 < offset + length ? (src[end + 1] & 0xff) << 8 : 0);
+            dst[out++] = this.alphabet[bits >>> 18];
+            dst[out++] = this.alphabet[bits >>> 12 & 0x3f];
+            if (end + 1 < offset + length) {
+                dst[out++] = this.alphabet[bits >>> 6 & 0x3f];
+            }
+        }
+        return out - dstOffset;
+    }
+
+    /**
+     * Writes the encoded form as ASCII bytes.
+     *
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        this.checkCapacity(this.encodedLength(length), dst.length - dstOffset, "encoding");
+        int out = dstOffset;
+        int end = offset + length - length % 3;
+        for (int i = offset; i < end; i += 3) {
+            int bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | (src[i + 2] & 0xff);
+            dst[out++] = this.bytes[bits >>> 18];
+            dst[out++] = this.bytes[bits >>> 12 & 0x3f];
+            dst[out++] = this.bytes[bits >>> 6 & 0x3f];
+            dst[out++] = this.bytes[bits & 0x3f];
+        }
+        if (end < offset + length) {
+            int bits = (src[end] & 0xff) << 16 | (end + 1 < offset + length ? (src[end + 1] & 0xff) << 8 : 0);
+            dst[out++] = this.bytes[bits >>> 18];
+            dst[out++] = this.bytes[bits >>> 12 & 0x3f];
+            if (end + 1 < offset + length) {
+                dst[out++] = this.bytes[bits >>> 6 & 0x3f];
+            }
+        }
+        return out - dstOffset;
+    }
+
+    /**
+     * Encodes the remaining bytes of <code>src</code> as ASCII bytes into
+     * <code>dst</code>, both buffers are advanced.
+     *
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        this.checkCapacity(this.encodedLength(length), dst.remaining(), "encoding");
+        int start = dst.position();
+        while (src.remaining() >= 3) {
+            int bits = (src.get() & 0xff) << 16 | (src.get() & 0xff) << 8 | (src.get() & 0xff);
+            dst.put(this.bytes[bits >>> 18]);
+            dst.put(this.bytes[bits >>> 12 & 0x3f]);
+            dst.put(this.bytes[bits >>> 6 & 0x3f]);
+            dst.put(this.bytes[bits & 0x3f]);
+        }
+        if (src.hasRemaining()) {
+            boolean two = src.remaining() == 2;
+            int bits = (src.get() & 0xff) << 16 | (two ? (src.get() & 0xff) << 8 : 0);
+            dst.put(this.bytes[bits >>> 18]);
+            dst.put(this.bytes[bits >>> 12 & 0x3f]);
+            if (two) {
+                dst.put(this.bytes[bits >>> 6 & 0x3f]);
+            }
+        }
+        return dst.position() - start;
+    }
+
+    /**
+     * @return The number of bytes <code>src</code> decodes to, <code>src</code>
+     *         itself is not validated
+     */
+    public int decodedLength(CharSequence src) {
+        int length = src.length();
+        return this.decodedLength(length, this.padding(length, length > 0 ? src.charAt(length - 1) : 0, length > 1 ? src.charAt(length - 2) : 0));
+    }
+
+    public int decodedLength(char[] src, int offset, int length) {
+        int last = offset + length - 1;
+        return this.decodedLength(length, this.padding(length, length > 0 ? src[last] : 0, length > 1 ? src[last - 1] : 0));
+    }
+
+    public int decodedLength(byte[] src, int offset, int length) {
+        int last = offset + length - 1;
+        return this.decodedLength(length, this.padding(length, length > 0 ? src[last] : 0, length > 1 ? src[last - 1] : 0));
+    }
+
+    public byte[] decode(CharSequence src) {
+        byte[] dst = new byte[this.decodedLength(src)];
+        this.decode(src, dst, 0);
+        return dst;
+    }
+
+    /**
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int decode(CharSequence src, byte[] dst, int dstOffset) {
+        int length = src.length();
+        int padding = this.padding(length, length > 0 ? src.charAt(length - 1) : 0, length > 1 ? src.charAt(length - 2) : 0);
+        this.checkCapacity(this.decodedLength(length, padding), dst.length - dstOffset, "decoding");
+        int out = dstOffset;
+        int bits = 0;
+        int count = 0;
+        for (int i = 0; i < length - padding; i++) {
+            bits = bits << 6 | this.value(src.charAt(i));
+            if (++count == 4) {
+                out = this.put(bits, count, dst, out);
+                bits = 0;
+                count = 0;
+            }
+        }
+        return this.put(bits, count, dst, out) - dstOffset;
+    }
+
+    /**
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int decode(char[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int last = offset + length - 1;
+        int padding = this.padding(length, length > 0 ? src[last] : 0, length > 1 ? src[last - 1] : 0);
+        this.checkCapacity(this.decodedLength(length, padding), dst.length - dstOffset, "decoding");
+        int out = dstOffset;
+        int bits = 0;
+        int count = 0;
+        for (int i = offset; i < offset + length - padding; i++) {
+            bits = bits << 6 | this.value(src[i]);
+            if (++count == 4) {
+                out = this.put(bits, count, dst, out);
+                bits = 0;
+                count = 0;
+            }
+        }
+        return this.put(bits, count, dst, out) - dstOffset;
+    }
+
+    /**
+     * Decodes ASCII encoded input.
+     *
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int last = offset + length - 1;
+        int padding = this.padding(length, length > 0 ? src[last] : 0, length > 1 ? src[last - 1] : 0);
+        this.checkCapacity(this.decodedLength(length, padding), dst.length - dstOffset, "decoding");
+        int out = dstOffset;
+        int bits = 0;
+        int count = 0;
+        for (int i = offset; i < offset + length - padding; i++) {
+            bits = bits << 6 | this.value(src[i] & 0xff);
+            if (++count == 4) {
+                out = this.put(bits, count, dst, out);
+                bits = 0;
+                count = 0;
+            }
+        }
+        return this.put(bits, count, dst, out) - dstOffset;
+    }
+
+    /**
+     * Decodes the remaining ASCII encoded bytes of <code>src</code> into
+     * <code>dst</code>, both buffers are advanced.
+     *
+     * @return The number of bytes written to <code>dst</code>
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        int last = src.limit() - 1;
+        int padding = this.padding(length, length > 0 ? src.get(last) : 0, length > 1 ? src.get(last - 1) : 0);
+        this.checkCapacity(this.decodedLength(length, padding), dst.remaining(), "decoding");
+        int start = dst.position();
+        int bits = 0;
+        int count = 0;
+        for (int i = 0; i < length - padding; i++) {
+            bits = bits << 6 | this.value(src.get() & 0xff);
+            if (++count == 4) {
+                this.put(bits, count, dst);
+                bits = 0;
+                count = 0;
+            }
+        }
+        this.put(bits, count, dst);
+        src.position(src.limit());
+        return dst.position() - start;
+    }
+
+    private int decodedLength(int length, int padding) {
+        int chars = length - padding;
+        return chars / 4 * 3 + (chars % 4 == 0 ? 0 : chars % 4 - 1);
+    }
+
+    /*
+     * Padding is only permitted to complete the final 4 character unit.
+     */
+    private int padding(int length, int last, int secondLast) {
+        if (last != Base64Codec.PAD) {
+            return 0;
+        }
+        if (length % 4 != 0) {
+            throw new IllegalArgumentException("Input byte array has wrong 4-byte ending unit");
+        }
+        return secondLast == Base64Codec.PAD ? 2 : 1;
+    }
+
+    int value(int c) {
+        int value = c < this.values.length ? this.values[c] : -1;
+        if (value < 0) {
+            throw new IllegalArgumentException("Illegal base64 character " + Integer.toString(c, 16));
+        }
+        return value;
+    }
+
+    private int put(int bits, int count, byte[] dst, int out) {
+        switch (count) {
+            case 0:
+                return out;
+            case 2:
+                dst[out] = (byte) (bits >>> 4);
+                return out + 1;
+            case 3:
+                dst[out] = (byte) (bits >>> 10);
+                dst[out + 1] = (byte) (bits >>> 2);
+                return out + 2;
+            case 4:
+                dst[out] = (byte) (bits >>> 16);
+                dst[out + 1] = (byte) (bits >>> 8);
+                dst[out + 2] = (byte) bits;
+                return out + 3;
+            default:
+                throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+    }
+
+    private void put(int bits, int count, ByteBuffer dst) {
+        switch (count) {
+            case 0:
+                break;
+            case 2:
+                dst.put((byte) (bits >>> 4));
+                break;
+            case 3:
+                dst.put((byte) (bits >>> 10));
+                dst.put((byte) (bits >>> 2));
+                break;
+            case 4:
+                dst.put((byte) (bits >>> 16));
+                dst.put((byte) (bits >>> 8));
+                dst.put((byte) bits);
+                break;
+            default:
+                throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+    }
+
+    private void checkCapacity(int required, int available, String operation) {
+        if (required > available) {
+            throw new IllegalArgumentException(String.format("Output buffer is too small for %s all input bytes", operation));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Implementation of the batch operations exposed by {@linkplain Algorithms}.
+ */
+final class Batch {
+    private static final class KeyId {
+        private final Algorithm algorithm;
+        private final byte[] key;
+        private final int hash;
+
+        KeyId(Algorithm algorithm, byte[] key) {
+            this.algorithm = algorithm;
+            this.key = key;
+            this.hash = 31 * System.identityHashCode(algorithm) + Arrays.hashCode(key);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof KeyId)) {
+                return false;
+            }
+            KeyId other = (KeyId) obj;
+            return this.algorithm == other.algorithm && Arrays.equals(this.key, other.key);
+        }
+    }
+
+    static BitSet verifyAll(List<VerifyRequest> requests, Executor executor) {
+        int size = requests.size();
+        VerifyRequest[] items = requests.toArray(new VerifyRequest[size]);
+
+        /*
+         * Group items by key so that every distinct key is decoded exactly once, the
+         * decoding itself is spread across the executor as well.
+         */
+        Map<KeyId, Integer> groups = new HashMap<>();
+        List<KeyId> keys = new ArrayList<>();
+        int[] groupOf = new int[size];
+        for (int i = 0; i < size; i++) {
+            if (items[i] == null) {
+                throw new IllegalArgumentException("Requests cannot contain null entries");
+            }
+            KeyId id = new KeyId(items[i].getAlgorithm(), items[i].getKey());
+            Integer group = groups.get(id);
+            if (group == null) {
+                group = keys.size();
+                groups.put(id, group);
+                keys.add(id);
+            }
+            groupOf[i] = group;
+        }
+
+        Verifier[] verifiers = new Verifier[keys.size()];
+        Batch.run(verifiers.length, executor, (from, to) -> {
+            for (int g = from; g < to; g++) {
+                KeyId id = keys.get(g);
+                try {
+                    verifiers[g] = id.algorithm.newVerifier(id.key);
+                } catch (RuntimeException ex) {
+                    // invalid key, every item using it fails verification
+                    verifiers[g] = null;
+                }
+            }
+        });
+
+        boolean[] valid = new boolean[size];
+        Batch.run(size, executor, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Verifier verifier = verifiers[groupOf[i]];
+                if (verifier != null) {
+                    try {
+                        valid[i] = verifier.isSignatureValid(items[i].getData(), items[i].getSignature());
+                    } catch (RuntimeException ex) {
+                        valid[i] = false;
+                    }
+                }
+            }
+        });
+
+        BitSet result = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (valid[i]) {
+                result.set(i);
+            }
+        }
+        return result;
+    }
+
+    static List<String> signAll(Signer signer, Iterable<byte[]> data, Executor executor) {
+        List<byte[]> items = new ArrayList<>();
+        for (byte[] item : data) {
+            if (item == null) {
+                throw new IllegalArgumentException("Data cannot contain null entries");
+            }
+            items.add(item);
+        }
+
+        String[] signatures = new String[items.size()];
+        Batch.run(signatures.length, executor, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                signatures[i] = signer.getSignature(items.get(i));
+            }
+        });
+        return Collections.unmodifiableList(Arrays.asList(signatures));
+    }
+
+    @FunctionalInterface
+    interface Range {
+        void process(int from, int to);
+    }
+
+    /**
+     * Splits <code>[0, size)</code> into contiguous chunks, a few per core, and
+     * processes them on the executor. Blocks until every chunk is done, if a chunk
+     * fails its exception is rethrown here.
+     */
+    static void run(int size, Executor executor, Range range) {
+        if (size == 0) {
+            return;
+        }
+
+        int chunks = Math.min(size, Runtime.getRuntime().availableProcessors() * 4);
+        int chunkSize = (size + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            int start = from;
+            int end = Math.min(size, from + chunkSize);
+            futures.add(CompletableFuture.runAsync(() -> range.process(start, end), executor));
+        }
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private Batch() {
+    }
+}
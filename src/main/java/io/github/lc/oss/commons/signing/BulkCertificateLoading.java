@@ -0,0 +1,183 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the bulk certificate loaders exposed by
+ * {@linkplain Util}. Work is split with {@linkplain Batch}, every chunk parses
+ * with its own {@linkplain CertificateFactory} and {@linkplain PemReader}.
+ */
+final class BulkCertificateLoading {
+    private static final byte[] PEM = "-----BEGIN ".getBytes(StandardCharsets.US_ASCII);
+
+    /*
+     * Every regular, non hidden file in the directory (not recursive) in name
+     * order. A file may hold a single DER certificate, DER PKCS#7 or any number
+     * of PEM CERTIFICATE and PKCS7 blocks.
+     */
+    static List<X509Certificate> directory(Path directory, Executor executor) throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(Files::isRegularFile).filter(f -> !f.getFileName().toString().startsWith(".")).sorted().collect(Collectors.toList());
+        }
+
+        List<List<X509Certificate>> results = new ArrayList<>(Collections.nCopies(files.size(), null));
+        Batch.run(files.size(), executor, (from, to) -> {
+            CertificateFactory factory = BulkCertificateLoading.newFactory();
+            PemReader reader = new PemReader();
+            for (int i = from; i < to; i++) {
+                try {
+                    results.set(i, BulkCertificateLoading.parse(factory, reader, Files.readAllBytes(files.get(i))));
+                } catch (IOException | CertificateException ex) {
+                    throw new RuntimeException(String.format("Error loading %s", files.get(i)), ex);
+                }
+            }
+        });
+
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (List<X509Certificate> result : results) {
+            certificates.addAll(result);
+        }
+        return certificates;
+    }
+
+    /*
+     * PEM blocks are split off in a single pass and parsed in parallel, a DER
+     * bundle is parsed as a whole.
+     */
+    static List<X509Certificate> bundle(byte[] data, Executor executor) throws CertificateException {
+        if (!BulkCertificateLoading.isPem(data)) {
+            return BulkCertificateLoading.parse(BulkCertificateLoading.newFactory(), null, data);
+        }
+
+        List<String> types = new ArrayList<>();
+        List<byte[]> blocks = new ArrayList<>();
+        new PemReader().read(ByteBuffer.wrap(data), (type, block, length) -> {
+            if (BulkCertificateLoading.isCertificates(type)) {
+                types.add(type);
+                byte[] copy = new byte[length];
+                System.arraycopy(block, 0, copy, 0, length);
+                blocks.add(copy);
+            }
+        });
+
+        List<List<X509Certificate>> results = new ArrayList<>(Collections.nCopies(blocks.size(), null));
+        Batch.run(blocks.size(), executor, (from, to) -> {
+            CertificateFactory factory = BulkCertificateLoading.newFactory();
+            for (int i = from; i < to; i++) {
+                try {
+                    results.set(i, BulkCertificateLoading.parse(factory, types.get(i), blocks.get(i), blocks.get(i).length));
+                } catch (CertificateException ex) {
+                    throw new RuntimeException(String.format("Error loading block %d", i), ex);
+                }
+            }
+        });
+
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (List<X509Certificate> result : results) {
+            certificates.addAll(result);
+        }
+        return certificates;
+    }
+
+    static Map<String, PublicKey> index(List<X509Certificate> certificates, CertificateIndex index) throws Exception {
+        if (index == null) {
+            throw new IllegalArgumentException("Index is required");
+        }
+
+        Map<String, PublicKey> keys = new LinkedHashMap<>();
+        for (X509Certificate certificate : certificates) {
+            String id;
+            if (index == CertificateIndex.SUBJECT) {
+                id = certificate.getSubjectX500Principal().getName();
+            } else {
+                id = Thumbprints.fingerprint(certificate.getEncoded());
+            }
+            keys.put(id, certificate.getPublicKey());
+        }
+        return Collections.unmodifiableMap(keys);
+    }
+
+    private static List<X509Certificate> parse(CertificateFactory factory, PemReader reader, byte[] data) throws CertificateException {
+        if (reader == null || !BulkCertificateLoading.isPem(data)) {
+            return BulkCertificateLoading.parse(factory, "PKCS7", data, data.length);
+        }
+
+        List<X509Certificate> certificates = new ArrayList<>();
+        CertificateException[] error = new CertificateException[1];
+        reader.read(ByteBuffer.wrap(data), (type, block, length) -> {
+            if (error[0] == null && BulkCertificateLoading.isCertificates(type)) {
+                try {
+                    certificates.addAll(BulkCertificateLoading.parse(factory, type, block, length));
+                } catch (CertificateException ex) {
+                    error[0] = ex;
+                }
+            }
+        });
+        if (error[0] != null) {
+            throw error[0];
+        }
+        return certificates;
+    }
+
+    /*
+     * generateCertificates reads a single DER certificate as well as PKCS#7.
+     */
+    private static List<X509Certificate> parse(CertificateFactory factory, String type, byte[] data, int length) throws CertificateException {
+        List<X509Certificate> certificates = new ArrayList<>();
+        ByteArrayInputStream in = new ByteArrayInputStream(data, 0, length);
+        if ("CERTIFICATE".equals(type)) {
+            certificates.add((X509Certificate) factory.generateCertificate(in));
+        } else {
+            for (Certificate certificate : factory.generateCertificates(in)) {
+                certificates.add((X509Certificate) certificate);
+            }
+        }
+        return certificates;
+    }
+
+    private static boolean isCertificates(String type) {
+        return "CERTIFICATE".equals(type) || "PKCS7".equals(type);
+    }
+
+    private static boolean isPem(byte[] data) {
+        outer: for (int i = 0; i <= data.length - BulkCertificateLoading.PEM.length; i++) {
+            for (int j = 0; j < BulkCertificateLoading.PEM.length; j++) {
+                if (data[i + j] != BulkCertificateLoading.PEM[j]) {
+                    continue outer;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static CertificateFactory newFactory() {
+        try {
+            return CertificateFactory.getInstance("X.509");
+        } catch (CertificateException ex) {
+            throw new RuntimeException("X.509 is not available", ex);
+        }
+    }
+
+    private BulkCertificateLoading() {
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.KeyPair;
+import java.lang.ref.Cleaner;
+import java.security.KeyPairGenerator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementation of {@linkplain KeyGenerator#generateMany(Algorithm, int)}.
+ * Workers hand their key pairs to the stream through a bounded queue, so at
+ * most a few key pairs per worker are held in memory at any time.<br />
+ * <br />
+ * The workers only share {@linkplain Workers} with the stream, never the stream
+ * itself. A stream that is dropped without being closed becomes unreachable and
+ * its workers are cancelled by a {@linkplain Cleaner}.
+ */
+final class BulkKeyGeneration extends Spliterators.AbstractSpliterator<KeyPair> {
+    private static final int QUEUED_PER_WORKER = 16;
+    private static final long OFFER_MILLIS = 100;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    /*
+     * Default executor, a new daemon thread per worker. The threads belong to the
+     * stream alone, a stream that is abandoned without being closed parks its own
+     * workers instead of those of a shared pool and never keeps the JVM alive.
+     */
+    static final Executor DAEMON_THREADS = task -> {
+        Thread thread = new Thread(task, "key-generation");
+        thread.setDaemon(true);
+        thread.start();
+    };
+
+    private static final class Failure {
+        private final Throwable cause;
+
+        Failure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+
+    /*
+     * State shared between the stream and its workers.
+     */
+    private static final class Workers {
+        private final Algorithm algorithm;
+        private final BlockingQueue<Object> queue;
+        private final AtomicInteger unclaimed;
+        private volatile boolean cancelled;
+
+        Workers(Algorithm algorithm, int count, int workers) {
+            this.algorithm = algorithm;
+            this.queue = new ArrayBlockingQueue<>(workers * BulkKeyGeneration.QUEUED_PER_WORKER);
+            this.unclaimed = new AtomicInteger(count);
+        }
+
+        void cancel() {
+            this.cancelled = true;
+            this.queue.clear();
+        }
+
+        /*
+         * Each worker keeps its own generator and DRBG for all the key pairs it
+         * claims. Errors are handed to the stream as well, otherwise the consumer
+         * would wait for a key pair that never comes.
+         */
+        void work() {
+            try {
+                KeyPairGenerator generator = KeyGenerator.newGenerator(this.algorithm, KeyGenerator.newDrbg());
+                while (!this.cancelled && this.unclaimed.getAndDecrement() > 0) {
+                    this.put(generator.generateKeyPair());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (Exception | Error ex) {
+                try {
+                    this.put(new Failure(ex));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /*
+         * Waits in slices so that workers notice a stream closed while they are
+         * blocked on a full queue.
+         */
+        private void put(Object item) throws InterruptedException {
+            while (!this.cancelled) {
+                if (this.queue.offer(item, BulkKeyGeneration.OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    static Stream<KeyPair> stream(Algorithm algorithm, int count, Executor executor) {
+        BulkKeyGeneration generation = new BulkKeyGeneration(algorithm, count, executor);
+        return StreamSupport.stream(generation, false).onClose(generation::cancel);
+    }
+
+    private final int count;
+    private final Executor executor;
+    private final int workers;
+    private final Workers state;
+    private final Cleaner.Cleanable cleanable;
+    private boolean started;
+    private int delivered;
+
+    private BulkKeyGeneration(Algorithm algorithm, int count, Executor executor) {
+        super(count, Spliterator.SIZED | Spliterator.NONNULL);
+        this.count = count;
+        this.executor = executor;
+        this.workers = Math.max(1, Math.min(count, Runtime.getRuntime().availableProcessors()));
+        this.state = new Workers(algorithm, count, this.workers);
+        // the action must not reach this, a bound method reference only holds state
+        this.cleanable = BulkKeyGeneration.CLEANER.register(this, this.state::cancel);
+    }
+
+    /*
+     * Workers start with the first element so that a stream that is never
+     * consumed does not generate anything. They are released with the last one.
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super KeyPair> action) {
+        if (this.delivered == this.count) {
+            return false;
+        }
+        if (!this.started) {
+            this.started = true;
+            for (int i = 0; i < this.workers; i++) {
+                this.executor.execute(this.state::work);
+            }
+        }
+
+        Object item;
+        try {
+            item = this.state.queue.take();
+        } catch (InterruptedException ex) {
+            this.cancel();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted generating key pairs", ex);
+        }
+        if (item instanceof Failure) {
+            this.cancel();
+            throw new RuntimeException("Error generating key pair", ((Failure) item).cause);
+        }
+
+        this.delivered++;
+        if (this.delivered == this.count) {
+            this.cancel();
+        }
+        action.accept((KeyPair) item);
+        return true;
+    }
+
+    @Override
+    public Spliterator<KeyPair> trySplit() {
+        return null;
+    }
+
+    /*
+     * Runs Workers.cancel at most once, whether the stream is closed, finished
+     * or collected.
+     */
+    void cancel() {
+        this.cleanable.clean();
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PublicKey;
+import java.security.cert.CertPath;
+import java.security.cert.CertPathValidator;
+import java.security.cert.CertStore;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.CertificateFactory;
+import java.security.cert.CollectionCertStoreParameters;
+import java.security.cert.PKIXCertPathValidatorResult;
+import java.security.cert.PKIXParameters;
+import java.security.cert.TrustAnchor;
+import java.security.cert.X509CRL;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PKIX validation of certificate chains against a fixed set of trust anchors
+ * with a cache of successful results keyed by the chain's fingerprint. A cached
+ * result is used until the earliest <code>notAfter</code> of the chain and its
+ * trust anchor, or until {@linkplain #refreshRevocation()} is called. Failed
+ * validations are never cached.<br />
+ * <br />
+ * Instances are thread safe.
+ */
+public class CertificateChainValidator {
+    private static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    private static final class Result {
+        private final PublicKey publicKey;
+        private final long expiresAt;
+        private final long generation;
+
+        Result(PublicKey publicKey, long expiresAt, long generation) {
+            this.publicKey = publicKey;
+            this.expiresAt = expiresAt;
+            this.generation = generation;
+        }
+    }
+
+    private final Set<TrustAnchor> trustAnchors;
+    private final boolean revocationEnabled;
+    private final int maxEntries;
+    private final Map<String, Result> results = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile List<CertStore> certStores = Collections.emptyList();
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Validates without revocation checking.
+     */
+    public CertificateChainValidator(Set<X509Certificate> trustAnchors) {
+        this(trustAnchors, false, CertificateChainValidator.DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param revocationEnabled Whether the PKIX revocation check runs, it then
+     *                          needs CRLs (see
+     *                          {@linkplain #refreshRevocation(Collection)}) or
+     *                          the provider's OCSP/CRL distribution point
+     *                          support
+     * @param maxEntries        Maximum number of cached chains
+     */
+    public CertificateChainValidator(Set<X509Certificate> trustAnchors, boolean revocationEnabled, int maxEntries) {
+        if (trustAnchors == null || trustAnchors.isEmpty()) {
+            throw new IllegalArgumentException("Trust anchors are required");
+        }
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Max entries cannot be negative");
+        }
+
+        Set<TrustAnchor> anchors = new HashSet<>();
+        for (X509Certificate anchor : trustAnchors) {
+            if (anchor == null) {
+                throw new IllegalArgumentException("Trust anchors cannot contain null entries");
+            }
+            anchors.add(new TrustAnchor(anchor, null));
+        }
+        this.trustAnchors = Collections.unmodifiableSet(anchors);
+        this.revocationEnabled = revocationEnabled;
+        this.maxEntries = maxEntries;
+    }
+
+    void setClock(Clock clock) {
+        this.clock = clock;
+    }
+
+    /**
+     * @param chain The leaf certificate first, followed by its issuers. The trust
+     *              anchor itself may be omitted.
+     * @return The leaf certificate's public key
+     * @throws RuntimeException if the chain is not valid
+     */
+    public PublicKey validate(List<X509Certificate> chain) {
+        if (chain == null || chain.isEmpty()) {
+            throw new IllegalArgumentException("Chain is required");
+        }
+
+        String fingerprint = CertificateChainValidator.fingerprint(chain);
+        long now = this.clock.millis();
+        long generation = this.generation.get();
+        Result cached = this.results.get(fingerprint);
+        if (cached != null && cached.generation == generation && now <= cached.expiresAt) {
+            return cached.publicKey;
+        }
+
+        Result result = this.validate(chain, now, generation);
+        this.cache(fingerprint, result);
+        return result.publicKey;
+    }
+
+    public boolean isValid(List<X509Certificate> chain) {
+        try {
+            this.validate(chain);
+            return true;
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Drops every cached result so that chains are validated again, e.g. after
+     * the provider's revocation data was updated.
+     */
+    public void refreshRevocation() {
+        this.generation.incrementAndGet();
+        this.results.clear();
+    }
+
+    /**
+     * Replaces the CRLs used for revocation checking and drops every cached
+     * result.
+     */
+    public void refreshRevocation(Collection<X509CRL> crls) {
+        try {
+            List<CertStore> stores = new ArrayList<>();
+            stores.add(CertStore.getInstance("Collection", new CollectionCertStoreParameters(new ArrayList<>(crls))));
+            this.certStores = Collections.unmodifiableList(stores);
+        } catch (GeneralSecurityException ex) {
+            throw new RuntimeException("Error loading CRLs", ex);
+        }
+        this.refreshRevocation();
+    }
+
+    /**
+     * @return The number of cached results, including expired ones not yet
+     *         evicted
+     */
+    public int size() {
+        return this.results.size();
+    }
+
+    private Result validate(List<X509Certificate> chain, long now, long generation) {
+        try {
+            CertPath path = CertificateFactory.getInstance("X.509").generateCertPath(this.withoutAnchor(chain));
+            PKIXParameters parameters = new PKIXParameters(this.trustAnchors);
+            parameters.setRevocationEnabled(this.revocationEnabled);
+            parameters.setCertStores(this.certStores);
+            parameters.setDate(new Date(now));
+            PKIXCertPathValidatorResult result = (PKIXCertPathValidatorResult) CertPathValidator.getInstance("PKIX").validate(path, parameters);
+
+            long expiresAt = Long.MAX_VALUE;
+            for (X509Certificate certificate : chain) {
+                expiresAt = Math.min(expiresAt, certificate.getNotAfter().getTime());
+            }
+            X509Certificate anchor = result.getTrustAnchor().getTrustedCert();
+            if (anchor != null) {
+                expiresAt = Math.min(expiresAt, anchor.getNotAfter().getTime());
+            }
+            return new Result(chain.get(0).getPublicKey(), expiresAt, generation);
+        } catch (GeneralSecurityException ex) {
+            throw new RuntimeException("Certificate chain is not valid", ex);
+        }
+    }
+
+    /*
+     * PKIX expects the path to end below the trust anchor.
+     */
+    private List<X509Certificate> withoutAnchor(List<X509Certificate> chain) {
+        List<X509Certificate> path = new ArrayList<>(chain);
+        while (path.size() > 1) {
+            X509Certificate last = path.get(path.size() - 1);
+            boolean anchor = false;
+            for (TrustAnchor trustAnchor : this.trustAnchors) {
+                anchor |= last.equals(trustAnchor.getTrustedCert());
+            }
+            if (!anchor) {
+                break;
+            }
+            path.remove(path.size() - 1);
+        }
+        return path;
+    }
+
+    /*
+     * Expired and stale results are evicted once the cache is full, if it is still
+     * full the result is not cached.
+     */
+    private void cache(String fingerprint, Result result) {
+        if (this.results.size() >= this.maxEntries && !this.results.containsKey(fingerprint)) {
+            long now = this.clock.millis();
+            long generation = this.generation.get();
+            this.results.values().removeIf(r -> r.generation != generation || now > r.expiresAt);
+            if (this.results.size() >= this.maxEntries) {
+                return;
+            }
+        }
+        this.results.put(fingerprint, result);
+    }
+
+    /*
+     * SHA-256 over the fingerprints of the chain's certificates in order.
+     */
+    static String fingerprint(List<X509Certificate> chain) {
+        StringBuilder sb = new StringBuilder(chain.size() * 64);
+        for (X509Certificate certificate : chain) {
+            if (certificate == null) {
+                throw new IllegalArgumentException("Chain cannot contain null entries");
+            }
+            try {
+                sb.append(Thumbprints.fingerprint(certificate.getEncoded()));
+            } catch (CertificateEncodingException ex) {
+                throw new RuntimeException("Error encoding certificate", ex);
+            }
+        }
+        return Thumbprints.fingerprint(sb.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+}
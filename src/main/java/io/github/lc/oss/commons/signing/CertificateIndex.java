@@ -0,0 +1,18 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * How bulk loaded certificates are keyed, see
+ * {@linkplain Util#loadPublicKeys(String, CertificateIndex)}.
+ */
+public enum CertificateIndex {
+    /**
+     * The subject's distinguished name in RFC 2253 format, e.g.
+     * <code>CN=partner,O=Example</code>. If several certificates share a subject
+     * the last one loaded wins.
+     */
+    SUBJECT,
+    /**
+     * Lowercase hex SHA-256 of the DER encoded certificate.
+     */
+    FINGERPRINT
+}
@@ -0,0 +1,43 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fallback {@linkplain Signer} for algorithms that have no native notion of a
+ * bound key, every call is forwarded to the algorithm with the encoded key.
+ */
+final class DelegatingSigner implements Signer {
+    private final Algorithm algorithm;
+    private final byte[] secret;
+
+    DelegatingSigner(Algorithm algorithm, byte[] secret) {
+        this.algorithm = algorithm;
+        this.secret = secret;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public String getSignature(String data) {
+        return this.getSignature(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getSignature(byte[] data) {
+        return this.algorithm.getSignature(this.secret, data);
+    }
+
+    @Override
+    public int getSignature(byte[] data, char[] out, int offset) {
+        return this.algorithm.getSignature(this.secret, data, out, offset);
+    }
+
+    @Override
+    public int sign(ByteBuffer[] data, ByteBuffer out) {
+        return this.algorithm.sign(this.secret, data, out);
+    }
+}
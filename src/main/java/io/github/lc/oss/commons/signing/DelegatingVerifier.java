@@ -0,0 +1,48 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fallback {@linkplain Verifier} for algorithms that have no native notion of a
+ * bound key, every call is forwarded to the algorithm with the encoded key.
+ */
+final class DelegatingVerifier implements Verifier {
+    private final Algorithm algorithm;
+    private final byte[] secret;
+
+    DelegatingVerifier(Algorithm algorithm, byte[] secret) {
+        this.algorithm = algorithm;
+        this.secret = secret;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public boolean isSignatureValid(String data, String signature) {
+        return this.isSignatureValid(data.getBytes(StandardCharsets.UTF_8), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, String signature) {
+        return this.algorithm.isSignatureValid(this.secret, data, signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, byte[] signature) {
+        return this.algorithm.isSignatureValid(this.secret, data, signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, char[] signature, int offset, int length) {
+        return this.algorithm.isSignatureValid(this.secret, data, signature, offset, length);
+    }
+
+    @Override
+    public boolean isSignatureValid(ByteBuffer[] data, ByteBuffer signature) {
+        return this.algorithm.isSignatureValid(this.secret, data, signature);
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.GeneralSecurityException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock free pool of reusable engines (e.g. {@linkplain java.security.Signature}
+ * or {@linkplain javax.crypto.Mac}). Engines are kept in a fixed number of
+ * slots that scales with the number of available cores. Each thread starts
+ * probing at a slot derived from its id so that, under low contention, a thread
+ * keeps getting back the same engine. Acquiring and releasing never blocks and
+ * never allocates; when the pool is empty a new engine is created and when it
+ * is full released engines are simply dropped.
+ */
+final class EnginePool<T> {
+    @FunctionalInterface
+    interface Factory<T> {
+        T create() throws GeneralSecurityException;
+    }
+
+    private final Factory<T> factory;
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+
+    EnginePool(Factory<T> factory) {
+        this(factory, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    EnginePool(Factory<T> factory, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.factory = factory;
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * @return A new engine from this pool's factory, bypassing the pool
+     */
+    T create() throws GeneralSecurityException {
+        return this.factory.create();
+    }
+
+    int capacity() {
+        return this.slots.length();
+    }
+
+    T acquire() throws GeneralSecurityException {
+        int start = this.start();
+        for (int i = 0; i < this.slots.length(); i++) {
+            int index = (start + i) & this.mask;
+            if (this.slots.get(index) != null) {
+                T engine = this.slots.getAndSet(index, null);
+                if (engine != null) {
+                    return engine;
+                }
+            }
+        }
+        return this.factory.create();
+    }
+
+    void release(T engine) {
+        if (engine == null) {
+            return;
+        }
+
+        int start = this.start();
+        for (int i = 0; i < this.slots.length(); i++) {
+            int index = (start + i) & this.mask;
+            if (this.slots.get(index) == null && this.slots.compareAndSet(index, null, engine)) {
+                return;
+            }
+        }
+    }
+
+    void clear() {
+        for (int i = 0; i < this.slots.length(); i++) {
+            this.slots.set(i, null);
+        }
+    }
+
+    private int start() {
+        long id = Thread.currentThread().getId();
+        return (int) (id ^ (id >>> 32)) & this.mask;
+    }
+}
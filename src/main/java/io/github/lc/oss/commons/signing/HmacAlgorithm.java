@@ -1,12 +1,28 @@
 package io.github.lc.oss.commons.signing;
 
-import java.util.Arrays;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.Provider;
 
 import javax.crypto.Mac;
+import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 
 public class HmacAlgorithm extends AbstractAlgorithm {
+    /*
+     * Largest output of the supported HMACs (SHA-512), used to size scratch
+     * buffers that hold a computed HMAC.
+     */
+    static final int MAX_MAC_LENGTH = 64;
+
     private final int minSecretLength;
+    private volatile EnginePool<Mac> macs;
 
     public HmacAlgorithm(String id, String algorithm, int minSecretLength) {
         super(id, algorithm, minSecretLength);
@@ -15,32 +31,366 @@ public class HmacAlgorithm extends AbstractAlgorithm {
             throw new IllegalArgumentException("Minimum secret length must be a multiple of 8");
         }
         this.minSecretLength = minSecretLength / 8;
+        this.providerChanged(null);
+    }
+
+    /**
+     * Keys a reusable {@linkplain PreparedHmac} with the given secret. The secret
+     * is validated and hashed into the HMAC pad state once, subsequent operations
+     * on the returned handle skip both steps.
+     */
+    public PreparedHmac prepare(byte[] secret) {
+        this.checkSecret(secret);
+        return this.newPreparedHmac(new SecretKeySpec(secret, this.getAlgorithm()));
+    }
+
+    public PreparedHmac prepare(String secret) {
+        return this.prepare(this.fromBase64(secret));
+    }
+
+    public PreparedHmac prepare(SecretKey key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Key is required");
+        }
+        this.checkSecret(key.getEncoded());
+        return this.newPreparedHmac(key);
+    }
+
+    /**
+     * Secret key equivalent of {@linkplain #newSigner(java.security.PrivateKey)},
+     * same as {@linkplain #prepare(SecretKey)}.
+     */
+    public Signer newSigner(SecretKey key) {
+        return this.prepare(key);
+    }
+
+    /**
+     * Secret key equivalent of {@linkplain #newVerifier(java.security.PublicKey)},
+     * same as {@linkplain #prepare(SecretKey)}.
+     */
+    public Verifier newVerifier(SecretKey key) {
+        return this.prepare(key);
+    }
+
+    /*
+     * Keying the pooled Mac with a throwaway secret forces provider selection, the
+     * Mac is keyed again on every use.
+     */
+    @Override
+    void prime() throws GeneralSecurityException {
+        EnginePool<Mac> macs = this.macs;
+        Mac mac = macs.acquire();
+        mac.init(new SecretKeySpec(new byte[this.minSecretLength], this.getAlgorithm()));
+        macs.release(mac);
+    }
+
+    @Override
+    void checkProvider(Provider provider) throws GeneralSecurityException {
+        Mac.getInstance(this.getAlgorithm(), provider);
+    }
+
+    /*
+     * Each pool is bound to a single provider, in flight operations release their
+     * engines to the pool they came from.
+     */
+    @Override
+    void providerChanged(Provider provider) {
+        this.macs = new EnginePool<>(() -> provider == null ? Mac.getInstance(this.getAlgorithm()) : Mac.getInstance(this.getAlgorithm(), provider));
+    }
+
+    @Override
+    public Signer newSigner(byte[] secret) {
+        return this.prepare(secret);
+    }
+
+    @Override
+    public Verifier newVerifier(byte[] secret) {
+        return this.prepare(secret);
     }
 
     @Override
     public String getSignature(byte[] secret, byte[] data) {
-        return this.toBase64(this.compute(secret, data));
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, data, event));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, InputStream data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, Payloads.of(data), event));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, ReadableByteChannel data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, Payloads.of(data), event));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, Path data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, Payloads.of(data), event));
+    }
+
+    @Override
+    public String getMappedSignature(byte[] secret, Path data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, Payloads.mapped(data), event));
+    }
+
+    @Override
+    public String getSignature(byte[] secret, ByteBuffer[] data) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        return this.signed(this.startTimer(), event, this.compute(secret, Payloads.of(data), event));
+    }
+
+    @Override
+    public int sign(byte[] secret, ByteBuffer[] data, ByteBuffer out) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        long start = this.startTimer();
+        byte[] result = this.compute(secret, Payloads.of(data), event);
+        try {
+            out.put(result);
+        } catch (BufferOverflowException ex) {
+            this.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+        SignatureEvent.complete(event);
+        return this.signed(start, result.length);
+    }
+
+    @Override
+    public int getSignature(byte[] secret, byte[] data, char[] out, int offset) {
+        // checked up front, the catch below is only meant for a too small output
+        this.checkSecret(secret);
+
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.SIGN);
+        long start = this.startTimer();
+        byte[] buffer = Payloads.buffer(Payloads.BUFFER_SIZE);
+        try {
+            int length = this.compute(secret, data, buffer, 0, event);
+            int chars = Base64Codec.STANDARD.encode(buffer, 0, length, out, offset);
+            SignatureEvent.lapBase64(event);
+            SignatureEvent.complete(event);
+            return this.signed(start, chars);
+        } catch (IllegalArgumentException ex) {
+            this.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, byte[] data, String signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        long start = this.startTimer();
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature));
+        try {
+            int length = Base64Codec.STANDARD.decode(signature, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return this.verified(start, event, this.isSignatureValid(secret, data, buffer, length, event));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, byte[] data, char[] signature, int offset, int length) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        long start = this.startTimer();
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature, offset, length));
+        try {
+            int decoded = Base64Codec.STANDARD.decode(signature, offset, length, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return this.verified(start, event, this.isSignatureValid(secret, data, buffer, decoded, event));
+        } finally {
+            Payloads.release(buffer);
+        }
     }
 
     @Override
     public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
-        byte[] actual = this.compute(secret, data);
-        return Arrays.equals(actual, signature);
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        long start = this.startTimer();
+        byte[] actual = this.compute(secret, data, event);
+        return this.verified(start, event, MessageDigest.isEqual(actual, signature));
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, InputStream data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        return this.verified(this.startTimer(), event, MessageDigest.isEqual(this.compute(secret, Payloads.of(data), event), signature));
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, ReadableByteChannel data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        return this.verified(this.startTimer(), event, MessageDigest.isEqual(this.compute(secret, Payloads.of(data), event), signature));
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] secret, Path data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        return this.verified(this.startTimer(), event, MessageDigest.isEqual(this.compute(secret, Payloads.of(data), event), signature));
+    }
+
+    @Override
+    public boolean isMappedSignatureValid(byte[] secret, Path data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        return this.verified(this.startTimer(), event, MessageDigest.isEqual(this.compute(secret, Payloads.mapped(data), event), signature));
     }
 
-    private byte[] compute(byte[] secret, byte[] data) {
+    @Override
+    public boolean isSignatureValid(byte[] secret, ByteBuffer[] data, ByteBuffer signature) {
+        SignatureEvent event = SignatureEvent.start(this, SignatureEvent.VERIFY);
+        long start = this.startTimer();
+        byte[] actual = this.compute(secret, Payloads.of(data), event);
+        boolean result = HmacAlgorithm.isEqual(actual, signature);
+        return this.verified(start, event, result);
+    }
+
+    /*
+     * The decoded signature occupies buffer[0, length).
+     */
+    private boolean isSignatureValid(byte[] secret, byte[] data, byte[] buffer, int length, SignatureEvent event) {
+        byte[] actual = this.compute(secret, data, event);
+        return HmacAlgorithm.isEqual(actual, buffer, length);
+    }
+
+    /*
+     * Constant time compare of actual against expected[0, length), same contract
+     * as MessageDigest.isEqual without copying the range out first.
+     */
+    static boolean isEqual(byte[] actual, byte[] expected, int length) {
+        if (actual.length != length) {
+            return false;
+        }
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result |= actual[i] ^ expected[i];
+        }
+        return result == 0;
+    }
+
+    /*
+     * Constant time compare of actual against the remaining bytes of expected,
+     * read in place. The buffer is consumed like a relative bulk get would.
+     */
+    static boolean isEqual(byte[] actual, ByteBuffer expected) {
+        int position = expected.position();
+        int length = expected.remaining();
+        expected.position(expected.limit());
+        if (actual.length != length) {
+            return false;
+        }
+        int result = 0;
+        for (int i = 0; i < length; i++) {
+            result |= actual[i] ^ expected.get(position + i);
+        }
+        return result == 0;
+    }
+
+    private void checkSecret(byte[] secret) {
         if (secret == null || secret.length < this.minSecretLength) {
             throw new IllegalArgumentException(
                     String.format("Secret is too short for this algorithm. Secret must be at least %d bits.", this.minSecretLength * 8));
         }
+    }
 
+    /*
+     * Encodes the HMAC and completes the bookkeeping of a sign operation.
+     */
+    private String signed(long start, SignatureEvent event, byte[] mac) {
+        String signature = this.toBase64(mac);
+        SignatureEvent.lapBase64(event);
+        SignatureEvent.complete(event);
+        return this.signed(start, signature);
+    }
+
+    private boolean verified(long start, SignatureEvent event, boolean valid) {
+        return this.verified(start, SignatureEvent.complete(event, valid));
+    }
+
+    private PreparedHmac newPreparedHmac(SecretKey key) {
         try {
-            Mac mac = Mac.getInstance(this.getAlgorithm());
-            SecretKeySpec sks = new SecretKeySpec(secret, this.getAlgorithm());
-            mac.init(sks);
-            return mac.doFinal(data);
+            Mac mac = this.macs.create();
+            mac.init(key);
+            return new PreparedHmac(this, key, mac);
+        } catch (Exception ex) {
+            throw new RuntimeException("Failed to prepare HMAC", ex);
+        }
+    }
+
+    private byte[] compute(byte[] secret, byte[] data, SignatureEvent event) {
+        this.checkSecret(secret);
+
+        EnginePool<Mac> macs = this.macs;
+        try {
+            Mac mac = this.init(macs, secret, event);
+            mac.update(data);
+            SignatureEvent.payload(event, data.length);
+            SignatureEvent.lapUpdate(event);
+            byte[] result = mac.doFinal();
+            SignatureEvent.lapFinal(event);
+            macs.release(mac);
+            return result;
+        } catch (Exception ex) {
+            this.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+
+    private byte[] compute(byte[] secret, Payload data, SignatureEvent event) {
+        this.checkSecret(secret);
+
+        EnginePool<Mac> macs = this.macs;
+        try {
+            Mac mac = this.init(macs, secret, event);
+            data.writeTo(SignatureEvent.count(event, Sink.of(mac)));
+            SignatureEvent.lapUpdate(event);
+            byte[] result = mac.doFinal();
+            SignatureEvent.lapFinal(event);
+            macs.release(mac);
+            return result;
         } catch (Exception ex) {
+            this.failed();
             throw new RuntimeException("Failed to calculate HMAC", ex);
         }
     }
+
+    private int compute(byte[] secret, byte[] data, byte[] out, int offset, SignatureEvent event) {
+        this.checkSecret(secret);
+
+        EnginePool<Mac> macs = this.macs;
+        try {
+            Mac mac = this.init(macs, secret, event);
+            mac.update(data);
+            SignatureEvent.payload(event, data.length);
+            SignatureEvent.lapUpdate(event);
+            int length = mac.getMacLength();
+            mac.doFinal(out, offset);
+            SignatureEvent.lapFinal(event);
+            macs.release(mac);
+            return length;
+        } catch (Exception ex) {
+            this.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+
+    private Mac init(EnginePool<Mac> macs, byte[] secret, SignatureEvent event) throws GeneralSecurityException {
+        SecretKeySpec sks = new SecretKeySpec(secret, this.getAlgorithm());
+        Mac mac = macs.acquire();
+        SignatureEvent.lapEngine(event);
+        try {
+            mac.init(sks);
+        } catch (InvalidKeyException ex) {
+            // pooled engines are bound to their first provider, retry with a fresh one
+            mac = macs.create();
+            mac.init(sks);
+        }
+        SignatureEvent.lapInit(event);
+        return mac;
+    }
 }
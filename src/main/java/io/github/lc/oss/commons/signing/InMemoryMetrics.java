@@ -0,0 +1,66 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@linkplain SigningMetrics} that keeps per algorithm counters and latency
+ * histograms in memory. A single instance may be shared by any number of
+ * algorithms. Each {@linkplain AlgorithmMetrics} is an MXBean, e.g.
+ *
+ * <pre>
+ * InMemoryMetrics metrics = new InMemoryMetrics();
+ * ((AbstractAlgorithm) Algorithms.RS256).setMetrics(metrics);
+ * ...
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(metrics.get("RS256"),
+ *         new ObjectName("io.github.lc.oss.commons.signing:type=Algorithm,name=RS256"));
+ * </pre>
+ */
+public class InMemoryMetrics implements SigningMetrics {
+    private final Map<String, AlgorithmMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @return The metrics for the given algorithm, created on first use
+     */
+    public AlgorithmMetrics get(String algorithmId) {
+        AlgorithmMetrics m = this.metrics.get(algorithmId);
+        if (m == null) {
+            m = this.metrics.computeIfAbsent(algorithmId, AlgorithmMetrics::new);
+        }
+        return m;
+    }
+
+    /**
+     * @return Unmodifiable view of the metrics of every algorithm recorded so far
+     */
+    public Map<String, AlgorithmMetrics> getAll() {
+        return Collections.unmodifiableMap(this.metrics);
+    }
+
+    public void reset() {
+        for (AlgorithmMetrics m : this.metrics.values()) {
+            m.reset();
+        }
+    }
+
+    @Override
+    public void signed(String algorithmId, long nanos) {
+        this.get(algorithmId).signed(nanos);
+    }
+
+    @Override
+    public void verified(String algorithmId, boolean valid, long nanos) {
+        this.get(algorithmId).verified(valid, nanos);
+    }
+
+    @Override
+    public void failed(String algorithmId) {
+        this.get(algorithmId).failed();
+    }
+
+    @Override
+    public void keyCacheAccessed(String algorithmId, boolean hit) {
+        this.get(algorithmId).keyCacheAccessed(hit);
+    }
+}
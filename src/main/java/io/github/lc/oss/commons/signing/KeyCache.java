@@ -0,0 +1,228 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size bounded, least recently used cache of decoded keys. Entries are keyed
+ * by their encoded form (raw bytes or Base64 text) and optionally expire after
+ * a fixed time to live.<br />
+ * <br />
+ * Hits never lock, they only stamp the entry with the time it was used. A miss
+ * that grows the cache past its maximum size evicts the entry with the oldest
+ * stamp, so eviction order is as exact as the clock and racing hits allow.
+ *
+ * Instances are thread safe and may be shared between algorithms, see
+ * {@linkplain AbstractKeyAlgorithm#setKeyCache(KeyCache)}.
+ */
+public class KeyCache {
+    @FunctionalInterface
+    interface Loader<T> {
+        T load() throws GeneralSecurityException;
+    }
+
+    private static final class Key {
+        private final String type;
+        private final byte[] bytes;
+        private final String text;
+        private final int hash;
+
+        Key(String type, byte[] bytes, String text) {
+            this.type = type;
+            this.bytes = bytes;
+            this.text = text;
+            this.hash = 31 * (31 * type.hashCode() + Arrays.hashCode(bytes)) + Objects.hashCode(text);
+        }
+
+        Key copy() {
+            return new Key(this.type, this.bytes == null ? null : this.bytes.clone(), this.text);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.hash == other.hash && this.type.equals(other.type) && Arrays.equals(this.bytes, other.bytes)
+                    && Objects.equals(this.text, other.text);
+        }
+    }
+
+    private static final class Entry {
+        private final Object value;
+        private final long expires;
+        private volatile long used;
+
+        Entry(Object value, long expires, long used) {
+            this.value = value;
+            this.expires = expires;
+            this.used = used;
+        }
+    }
+
+    /*
+     * Only serializes evictions, lookups and inserts go straight to the map.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final Map<Key, Entry> entries;
+    private final int maxSize;
+    private final long ttlNanos;
+
+    /**
+     * Creates a cache whose entries never expire, they are only evicted when the
+     * cache is full.
+     */
+    public KeyCache(int maxSize) {
+        this(maxSize, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Creates a cache whose entries expire <code>ttl</code> after they were
+     * loaded. A <code>ttl</code> of zero disables expiration.
+     */
+    public KeyCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be at least 1");
+        }
+        if (ttl < 0) {
+            throw new IllegalArgumentException("Time to live cannot be negative");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    public long getEvictions() {
+        return this.evictions.sum();
+    }
+
+    public int size() {
+        return this.entries.size();
+    }
+
+    public void clear() {
+        this.entries.clear();
+    }
+
+    <T> T get(String type, byte[] encoded, Loader<T> loader) throws GeneralSecurityException {
+        return this.get(new Key(type, encoded, null), loader, null);
+    }
+
+    <T> T get(String type, String encoded, Loader<T> loader) throws GeneralSecurityException {
+        return this.get(new Key(type, null, encoded), loader, null);
+    }
+
+    /*
+     * As above, additionally reporting the hit or miss to the owner's metrics.
+     */
+    <T> T get(String type, byte[] encoded, Loader<T> loader, AbstractAlgorithm owner) throws GeneralSecurityException {
+        return this.get(new Key(type, encoded, null), loader, owner);
+    }
+
+    <T> T get(String type, String encoded, Loader<T> loader, AbstractAlgorithm owner) throws GeneralSecurityException {
+        return this.get(new Key(type, null, encoded), loader, owner);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(Key key, Loader<T> loader, AbstractAlgorithm owner) throws GeneralSecurityException {
+        long now = System.nanoTime();
+        Entry entry = this.entries.get(key);
+        if (entry != null && this.isExpired(entry, now)) {
+            this.entries.remove(key, entry);
+            entry = null;
+        }
+
+        if (owner != null) {
+            owner.keyCacheAccessed(entry != null);
+        }
+        if (entry != null) {
+            entry.used = now;
+            this.hits.increment();
+            return (T) entry.value;
+        }
+
+        this.misses.increment();
+        /*
+         * Loading happens outside of any lock, two threads racing on the same key may
+         * both decode it but only the last one wins which is harmless.
+         */
+        T value = loader.load();
+        now = System.nanoTime();
+        long expires = this.ttlNanos == 0 ? 0 : now + this.ttlNanos;
+        this.entries.put(key.copy(), new Entry(value, expires, now));
+        if (this.entries.size() > this.maxSize) {
+            this.evictionLock.lock();
+            try {
+                this.evict();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+        return value;
+    }
+
+    /*
+     * Each pass drops every expired entry and the least recently used one. A full
+     * scan is only paid by misses on a full cache, which also pay for decoding a
+     * key.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        while (this.entries.size() > this.maxSize) {
+            Key eldestKey = null;
+            Entry eldest = null;
+            for (Map.Entry<Key, Entry> e : this.entries.entrySet()) {
+                Entry entry = e.getValue();
+                if (this.isExpired(entry, now)) {
+                    this.remove(e.getKey(), entry);
+                } else if (eldest == null || entry.used - eldest.used < 0) {
+                    eldestKey = e.getKey();
+                    eldest = entry;
+                }
+            }
+            if (eldest != null) {
+                this.remove(eldestKey, eldest);
+            }
+        }
+    }
+
+    private void remove(Key key, Entry entry) {
+        if (this.entries.remove(key, entry)) {
+            this.evictions.increment();
+        }
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return this.ttlNanos != 0 && now - entry.expires >= 0;
+    }
+}
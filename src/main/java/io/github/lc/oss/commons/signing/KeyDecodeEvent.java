@@ -0,0 +1,102 @@
+package io.github.lc.oss.commons.signing;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for decoding an encoded key, emitted on every decode
+ * and therefore only on misses when a {@linkplain KeyCache} is used. Follows
+ * the same conventions as {@linkplain SignatureEvent}.
+ */
+@Name("io.github.lc.oss.commons.signing.KeyDecode")
+@Label("Key Decode")
+@Category({ "OSS Commons", "Signing" })
+@Description("Decoding an encoded private or public key")
+@StackTrace(false)
+final class KeyDecodeEvent extends Event {
+    static final String PRIVATE = "private";
+    static final String PUBLIC = "public";
+
+    private static final KeyDecodeEvent PROBE = new KeyDecodeEvent();
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Key Type")
+    String keyType;
+
+    @Label("Key Size")
+    @Description("Length of the encoded key")
+    @DataAmount
+    long keySize;
+
+    @Label("Key Fingerprint")
+    @Description("First 64 bits of the SHA-256 of the encoded public key, Base64 URL encoded, empty for private keys")
+    String keyFingerprint;
+
+    @Label("Provider Lookup")
+    @Description("KeyFactory.getInstance")
+    @Timespan
+    long providerLookup;
+
+    @Label("Decode")
+    @Description("Parsing and validating the encoded key")
+    @Timespan
+    long decode;
+
+    private transient long mark;
+
+    /**
+     * @return A started event or <code>null</code> if the event is disabled
+     */
+    static KeyDecodeEvent start(Algorithm algorithm, String keyType) {
+        if (!KeyDecodeEvent.PROBE.isEnabled()) {
+            return null;
+        }
+
+        KeyDecodeEvent event = new KeyDecodeEvent();
+        event.algorithm = algorithm.getId();
+        event.keyType = keyType;
+        event.begin();
+        event.mark = System.nanoTime();
+        return event;
+    }
+
+    static void lapProviderLookup(KeyDecodeEvent event) {
+        if (event != null) {
+            event.providerLookup += event.lap();
+        }
+    }
+
+    static void lapDecode(KeyDecodeEvent event) {
+        if (event != null) {
+            event.decode += event.lap();
+        }
+    }
+
+    static void complete(KeyDecodeEvent event, byte[] encoded) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.keySize = encoded == null ? 0 : encoded.length;
+                if (KeyDecodeEvent.PUBLIC.equals(event.keyType)) {
+                    event.keyFingerprint = SignatureEvent.fingerprint(encoded);
+                }
+                event.commit();
+            }
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - this.mark;
+        this.mark = now;
+        return elapsed;
+    }
+}
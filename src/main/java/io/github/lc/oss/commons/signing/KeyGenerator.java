@@ -1,11 +1,15 @@
 package io.github.lc.oss.commons.signing;
 
+import java.security.GeneralSecurityException;
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 public class KeyGenerator {
     private static final Map<Algorithm, String> TYPES;
@@ -23,13 +27,77 @@ public class KeyGenerator {
         TYPES = Collections.unmodifiableMap(map);
     }
 
+    /*
+     * Key pair generators are initialized with the algorithm's minimum bit length.
+     */
+    static KeyPairGenerator newGenerator(Algorithm algorithm, SecureRandom random) throws GeneralSecurityException {
+        String type = KeyGenerator.TYPES.get(algorithm);
+        if (type == null && algorithm instanceof AbstractKeyAlgorithm) {
+            type = ((AbstractKeyAlgorithm) algorithm).getKeyType();
+        }
+        KeyPairGenerator gen = KeyPairGenerator.getInstance(type);
+        gen.initialize(algorithm.getMinBitLength(), random);
+        return gen;
+    }
+
+    /*
+     * A DRBG seeds itself once on first use, the platform default is used if no
+     * provider implements one.
+     */
+    static SecureRandom newDrbg() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException ex) {
+            return new SecureRandom();
+        }
+    }
+
     public KeyPair generate(Algorithm algorithm) {
         try {
-            KeyPairGenerator gen = KeyPairGenerator.getInstance(KeyGenerator.TYPES.get(algorithm));
-            gen.initialize(algorithm.getMinBitLength(), new SecureRandom());
-            return gen.generateKeyPair();
+            return KeyGenerator.newGenerator(algorithm, new SecureRandom()).generateKeyPair();
+        } catch (Exception ex) {
+            throw new RuntimeException("Error generating key pair", ex);
+        }
+    }
+
+    /**
+     * {@linkplain #generateMany(Algorithm, int, Executor)} on daemon threads that
+     * are started for the stream and end with it.
+     */
+    public Stream<KeyPair> generateMany(Algorithm algorithm, int count) {
+        return this.generateMany(algorithm, count, BulkKeyGeneration.DAEMON_THREADS);
+    }
+
+    /**
+     * Generates <code>count</code> key pairs in parallel, one worker per core on
+     * the given executor (e.g. a virtual thread per task executor). Each worker
+     * reuses a single key pair generator and DRBG. Key pairs are streamed in
+     * completion order as they are generated, workers pause while the stream is
+     * not consumed. Streams that are not consumed to the end must be closed to
+     * stop the workers.
+     *
+     * <pre>
+     * try (Stream&lt;KeyPair&gt; pairs = generator.generateMany(Algorithms.ES256, 100000)) {
+     *     pairs.forEach(pair -&gt; ...);
+     * }
+     * </pre>
+     */
+    public Stream<KeyPair> generateMany(Algorithm algorithm, int count, Executor executor) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+
+        try {
+            KeyGenerator.newGenerator(algorithm, null);
         } catch (Exception ex) {
             throw new RuntimeException("Error generating key pair", ex);
         }
+        return BulkKeyGeneration.stream(algorithm, count, executor);
     }
 }
@@ -0,0 +1,211 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.KeyPair;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ready key pairs for a single algorithm, see
+ * {@linkplain PooledKeyGenerator#getPool(Algorithm)}. At most one refill runs
+ * at a time. Instances can be registered with an MBean server as they are.
+ */
+public final class KeyPairPool implements KeyPairPoolMXBean {
+    private final Algorithm algorithm;
+    private final KeyGenerator generator;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final Executor executor;
+    private final Queue<KeyPair> pairs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder generated = new LongAdder();
+    private final LongAdder refillErrors = new LongAdder();
+    private final LatencyHistogram refillLatency = new LatencyHistogram();
+    private final LatencyHistogram generateLatency = new LatencyHistogram();
+    private volatile boolean closed;
+
+    KeyPairPool(Algorithm algorithm, KeyGenerator generator, KeyPairPoolOptions options) {
+        this.algorithm = algorithm;
+        this.generator = generator;
+        this.lowWatermark = options.getLowWatermark();
+        this.highWatermark = options.getHighWatermark();
+        this.executor = options.getExecutor();
+    }
+
+    /*
+     * Falls back to generating on the caller's thread when the pool is empty.
+     */
+    KeyPair take() {
+        KeyPair pair = this.pairs.poll();
+        if (pair == null) {
+            this.misses.increment();
+            this.refill();
+            return this.generator.generate(this.algorithm);
+        }
+
+        this.hits.increment();
+        if (this.depth.decrementAndGet() <= this.lowWatermark) {
+            this.refill();
+        }
+        return pair;
+    }
+
+    void refill() {
+        if (this.closed || !this.refilling.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            this.executor.execute(this::fill);
+        } catch (RejectedExecutionException ex) {
+            this.refilling.set(false);
+            this.refillErrors.increment();
+        }
+    }
+
+    /*
+     * A failed generation ends the refill, the next take starts a new one. The
+     * pool can be closed while a key pair is generated, it is dropped then. A
+     * close racing the offer itself is caught by draining again. Takes between
+     * the last depth check and the end of the refill find it still running, the
+     * depth is checked once more after it ended so that their refill is not lost.
+     */
+    private void fill() {
+        long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            while (!this.closed && this.depth.get() < this.highWatermark) {
+                long begin = System.nanoTime();
+                KeyPair pair = this.generator.generate(this.algorithm);
+                this.generateLatency.record(System.nanoTime() - begin);
+                if (this.closed) {
+                    break;
+                }
+                this.pairs.offer(pair);
+                this.depth.incrementAndGet();
+                this.generated.increment();
+            }
+            if (this.closed) {
+                this.drain();
+            }
+            this.refillLatency.record(System.nanoTime() - start);
+        } catch (RuntimeException ex) {
+            failed = true;
+            this.refillErrors.increment();
+        } finally {
+            this.refilling.set(false);
+        }
+
+        if (!failed && !this.closed && this.depth.get() <= this.lowWatermark) {
+            this.refill();
+        }
+    }
+
+    /*
+     * Stops refilling and discards the ready key pairs.
+     */
+    void close() {
+        this.closed = true;
+        this.drain();
+    }
+
+    private void drain() {
+        while (this.pairs.poll() != null) {
+            this.depth.decrementAndGet();
+        }
+    }
+
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    public LatencyHistogram getRefillLatency() {
+        return this.refillLatency;
+    }
+
+    public LatencyHistogram getGenerateLatency() {
+        return this.generateLatency;
+    }
+
+    @Override
+    public String getAlgorithmId() {
+        return this.algorithm.getId();
+    }
+
+    @Override
+    public int getDepth() {
+        return this.depth.get();
+    }
+
+    @Override
+    public int getLowWatermark() {
+        return this.lowWatermark;
+    }
+
+    @Override
+    public int getHighWatermark() {
+        return this.highWatermark;
+    }
+
+    @Override
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    @Override
+    public long getGenerated() {
+        return this.generated.sum();
+    }
+
+    @Override
+    public long getRefillErrors() {
+        return this.refillErrors.sum();
+    }
+
+    @Override
+    public double getRefillLatencyMean() {
+        return this.refillLatency.getMean();
+    }
+
+    @Override
+    public long getRefillLatencyP99() {
+        return this.refillLatency.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getRefillLatencyMax() {
+        return this.refillLatency.getMax();
+    }
+
+    @Override
+    public double getGenerateLatencyMean() {
+        return this.generateLatency.getMean();
+    }
+
+    @Override
+    public long getGenerateLatencyMax() {
+        return this.generateLatency.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.hits.reset();
+        this.misses.reset();
+        this.generated.reset();
+        this.refillErrors.reset();
+        this.refillLatency.reset();
+        this.generateLatency.reset();
+    }
+}
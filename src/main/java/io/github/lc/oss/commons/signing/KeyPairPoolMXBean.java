@@ -0,0 +1,48 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * Management view of a single {@linkplain KeyPairPool}. Latencies are in
+ * nanoseconds.
+ */
+public interface KeyPairPoolMXBean {
+    String getAlgorithmId();
+
+    int getDepth();
+
+    int getLowWatermark();
+
+    int getHighWatermark();
+
+    /**
+     * @return Key pairs taken from the pool
+     */
+    long getHits();
+
+    /**
+     * @return Key pairs generated synchronously because the pool was empty
+     */
+    long getMisses();
+
+    /**
+     * @return Key pairs generated in the background
+     */
+    long getGenerated();
+
+    long getRefillErrors();
+
+    /**
+     * @return Mean time from the start of a refill until the high watermark was
+     *         reached
+     */
+    double getRefillLatencyMean();
+
+    long getRefillLatencyP99();
+
+    long getRefillLatencyMax();
+
+    double getGenerateLatencyMean();
+
+    long getGenerateLatencyMax();
+
+    void reset();
+}
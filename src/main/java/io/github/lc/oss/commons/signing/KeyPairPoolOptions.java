@@ -0,0 +1,58 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options for {@linkplain PooledKeyGenerator}. A pool is refilled up to the
+ * high watermark whenever a key pair is taken and no more than the low
+ * watermark are left.
+ */
+public class KeyPairPoolOptions {
+    private int lowWatermark = 2;
+    private int highWatermark = 8;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public int getLowWatermark() {
+        return this.lowWatermark;
+    }
+
+    /**
+     * Number of ready key pairs at or below which a refill starts. Default 2.
+     */
+    public void setLowWatermark(int lowWatermark) {
+        if (lowWatermark < 0) {
+            throw new IllegalArgumentException("Low watermark cannot be negative");
+        }
+        this.lowWatermark = lowWatermark;
+    }
+
+    public int getHighWatermark() {
+        return this.highWatermark;
+    }
+
+    /**
+     * Number of key pairs kept ready per algorithm. Default 8.
+     */
+    public void setHighWatermark(int highWatermark) {
+        if (highWatermark < 1) {
+            throw new IllegalArgumentException("High watermark must be at least 1");
+        }
+        this.highWatermark = highWatermark;
+    }
+
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Executor key pairs are generated on in the background, one task per
+     * refilling pool. Default the common fork join pool.
+     */
+    public void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        this.executor = executor;
+    }
+}
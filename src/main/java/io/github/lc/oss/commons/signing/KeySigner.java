@@ -0,0 +1,40 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.PrivateKey;
+
+final class KeySigner implements Signer {
+    private final AbstractKeyAlgorithm algorithm;
+    private final PrivateKey key;
+
+    KeySigner(AbstractKeyAlgorithm algorithm, PrivateKey key) {
+        this.algorithm = algorithm;
+        this.key = key;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public String getSignature(String data) {
+        return this.getSignature(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getSignature(byte[] data) {
+        return this.algorithm.sign(this.key, data);
+    }
+
+    @Override
+    public int getSignature(byte[] data, char[] out, int offset) {
+        return this.algorithm.sign(this.key, Payloads.of(data), out, offset);
+    }
+
+    @Override
+    public int sign(ByteBuffer[] data, ByteBuffer out) {
+        return this.algorithm.sign(this.key, Payloads.of(data), out);
+    }
+}
@@ -0,0 +1,233 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.UnrecoverableKeyException;
+import java.security.cert.Certificate;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.github.lc.oss.commons.util.IoTools;
+
+/**
+ * Cached alternative to {@linkplain Util#loadKeyPair(String, String, char[])}.
+ * Each PKCS12 key store is decrypted once and every alias with a private key
+ * and certificate is indexed as a {@linkplain KeyPair}. At most once per check
+ * interval a lookup schedules a background check of the file. The store is
+ * reloaded if its modification time or size changed and its SHA-256 hash
+ * differs, lookups keep using the previous contents until the reload is done.
+ * Only the first lookup of a key store waits for it to be loaded.<br />
+ * <br />
+ * A key store is cached with the password it was first loaded with, lookups
+ * with any other password fail.
+ */
+public class KeyStoreCache {
+    private static final class Snapshot {
+        private final Map<String, KeyPair> pairs;
+        private final FileTime modified;
+        private final long size;
+        private final byte[] hash;
+
+        Snapshot(Map<String, KeyPair> pairs, FileTime modified, long size, byte[] hash) {
+            this.pairs = pairs;
+            this.modified = modified;
+            this.size = size;
+            this.hash = hash;
+        }
+    }
+
+    private final class Entry {
+        private final Path path;
+        private final AtomicBoolean reloading = new AtomicBoolean();
+        private char[] password;
+        private volatile Snapshot snapshot;
+        private volatile long checkedAt;
+
+        Entry(String path) {
+            this.path = Paths.get(path);
+        }
+
+        Snapshot get(char[] password) throws Exception {
+            Snapshot current = this.snapshot;
+            if (current == null) {
+                synchronized (this) {
+                    current = this.snapshot;
+                    if (current == null) {
+                        current = KeyStoreCache.load(this.path, password, null);
+                        this.password = password == null ? null : password.clone();
+                        this.checkedAt = System.nanoTime();
+                        this.snapshot = current;
+                    }
+                }
+                // a caller that waited for another thread's first load still needs checking
+                this.checkPassword(password);
+                return current;
+            }
+
+            this.checkPassword(password);
+            long now = System.nanoTime();
+            if (now - this.checkedAt >= KeyStoreCache.this.checkInterval) {
+                this.checkedAt = now;
+                this.reload();
+            }
+            return current;
+        }
+
+        private void checkPassword(char[] password) throws UnrecoverableKeyException {
+            if (!KeyStoreCache.matches(this.password, password)) {
+                throw new UnrecoverableKeyException("Password does not match the cached key store");
+            }
+        }
+
+        private void reload() {
+            if (!this.reloading.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                KeyStoreCache.this.executor.execute(() -> {
+                    try {
+                        this.snapshot = KeyStoreCache.load(this.path, this.password, this.snapshot);
+                    } catch (Exception ex) {
+                        // keep the previous contents, the next check retries
+                    } finally {
+                        this.reloading.set(false);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+                this.reloading.set(false);
+            }
+        }
+    }
+
+    /*
+     * Constant time for passwords of the same length.
+     */
+    private static boolean matches(char[] expected, char[] actual) {
+        if (expected == null || actual == null) {
+            return expected == actual;
+        }
+        if (expected.length != actual.length) {
+            return false;
+        }
+
+        int diff = 0;
+        for (int i = 0; i < expected.length; i++) {
+            diff |= expected[i] ^ actual[i];
+        }
+        return diff == 0;
+    }
+
+    /*
+     * Returns previous as is if the file did not change, or a copy with the new
+     * modification time if only that changed.
+     */
+    private static Snapshot load(Path path, char[] password, Snapshot previous) throws Exception {
+        FileTime modified = Files.getLastModifiedTime(path);
+        long size = Files.size(path);
+        if (previous != null && previous.modified.equals(modified) && previous.size == size) {
+            return previous;
+        }
+
+        byte[] data = Files.readAllBytes(path);
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest(data);
+        if (previous != null && MessageDigest.isEqual(previous.hash, hash)) {
+            return new Snapshot(previous.pairs, modified, data.length, hash);
+        }
+
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        ks.load(new ByteArrayInputStream(data), password);
+        Map<String, KeyPair> pairs = new HashMap<>();
+        Enumeration<String> aliases = ks.aliases();
+        while (aliases.hasMoreElements()) {
+            String alias = aliases.nextElement();
+            if (!ks.isKeyEntry(alias)) {
+                continue;
+            }
+            Key key = ks.getKey(alias, password);
+            Certificate cert = ks.getCertificate(alias);
+            if (key instanceof PrivateKey && cert != null) {
+                pairs.put(alias.toLowerCase(Locale.ROOT), new KeyPair(cert.getPublicKey(), (PrivateKey) key));
+            }
+        }
+        return new Snapshot(Collections.unmodifiableMap(pairs), modified, data.length, hash);
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final long checkInterval;
+    private final Executor executor;
+
+    /**
+     * Checks for changes at most once a second on the common fork join pool.
+     */
+    public KeyStoreCache() {
+        this(Duration.ofSeconds(1), ForkJoinPool.commonPool());
+    }
+
+    public KeyStoreCache(Duration checkInterval, Executor executor) {
+        if (checkInterval == null || checkInterval.isNegative()) {
+            throw new IllegalArgumentException("Check interval cannot be negative");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        this.checkInterval = checkInterval.toNanos();
+        this.executor = executor;
+    }
+
+    /**
+     * Same contract as {@linkplain Util#loadKeyPair(String, String, char[])},
+     * aliases are case insensitive like in PKCS12 key stores.
+     */
+    public KeyPair loadKeyPair(String keyStorePath, String alias, char[] password) {
+        try {
+            String path = IoTools.getAbsoluteFilePath(keyStorePath);
+            KeyPair pair = this.entries.computeIfAbsent(path, Entry::new).get(password).pairs.get(alias.toLowerCase(Locale.ROOT));
+            if (pair == null) {
+                throw new IllegalArgumentException(String.format("No key pair for alias %s", alias));
+            }
+            return pair;
+        } catch (Exception ex) {
+            throw new RuntimeException("Error loading KeyPair", ex);
+        }
+    }
+
+    /**
+     * @return The aliases of every key pair in the key store
+     */
+    public Map<String, KeyPair> loadKeyPairs(String keyStorePath, char[] password) {
+        try {
+            return this.entries.computeIfAbsent(IoTools.getAbsoluteFilePath(keyStorePath), Entry::new).get(password).pairs;
+        } catch (Exception ex) {
+            throw new RuntimeException("Error loading KeyPair", ex);
+        }
+    }
+
+    /**
+     * Drops the cached key store, the next lookup loads it again.
+     */
+    public void remove(String keyStorePath) {
+        this.entries.remove(IoTools.getAbsoluteFilePath(keyStorePath));
+    }
+
+    public void clear() {
+        this.entries.clear();
+    }
+}
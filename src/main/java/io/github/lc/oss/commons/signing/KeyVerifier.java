@@ -0,0 +1,45 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.PublicKey;
+
+final class KeyVerifier implements Verifier {
+    private final AbstractKeyAlgorithm algorithm;
+    private final PublicKey key;
+
+    KeyVerifier(AbstractKeyAlgorithm algorithm, PublicKey key) {
+        this.algorithm = algorithm;
+        this.key = key;
+    }
+
+    @Override
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public boolean isSignatureValid(String data, String signature) {
+        return this.isSignatureValid(data.getBytes(StandardCharsets.UTF_8), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, String signature) {
+        return this.algorithm.verify(this.key, Payloads.of(data), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, byte[] signature) {
+        return this.algorithm.verify(this.key, data, signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, char[] signature, int offset, int length) {
+        return this.algorithm.verify(this.key, Payloads.of(data), signature, offset, length);
+    }
+
+    @Override
+    public boolean isSignatureValid(ByteBuffer[] data, ByteBuffer signature) {
+        return this.algorithm.verify(this.key, Payloads.of(data), signature);
+    }
+}
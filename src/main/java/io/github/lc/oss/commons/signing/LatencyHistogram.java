@@ -0,0 +1,112 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free, fixed size histogram of non negative values (typically
+ * nanoseconds) in the spirit of HdrHistogram. Values below 64 are counted
+ * exactly, larger values fall into log-linear buckets of 32 sub buckets per
+ * power of two so that any reported value is within about 3% of the recorded
+ * one. Recording never allocates.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    private static final int BUCKETS = LatencyHistogram.index(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LatencyHistogram.BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /*
+     * Values below 2 * SUB_BUCKETS map to themselves. Above that the value is
+     * shifted right until only its top SUB_BUCKET_BITS + 1 bits are left, these
+     * select the sub bucket and the shift selects the power of two.
+     */
+    static int index(long value) {
+        if (value < LatencyHistogram.SUB_BUCKETS * 2) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - LatencyHistogram.SUB_BUCKET_BITS;
+        return shift * LatencyHistogram.SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    /*
+     * Largest value that maps to the given bucket.
+     */
+    static long highestValue(int index) {
+        if (index < LatencyHistogram.SUB_BUCKETS * 2) {
+            return index;
+        }
+        int shift = index / LatencyHistogram.SUB_BUCKETS - 1;
+        long top = index - shift * LatencyHistogram.SUB_BUCKETS;
+        long highest = ((top + 1) << shift) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    /**
+     * Records a value, negative values are recorded as zero.
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        this.counts.incrementAndGet(LatencyHistogram.index(v));
+        this.count.increment();
+        this.sum.add(v);
+        this.max.accumulate(v);
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long count = this.count.sum();
+        return count == 0 ? 0 : (double) this.sum.sum() / count;
+    }
+
+    /**
+     * @param percentile 0 to 100
+     * @return The upper bound of the bucket holding the value at the given
+     *         percentile, never more than {@linkplain #getMax()}. Zero if nothing
+     *         was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        long total = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            total += this.counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            seen += this.counts.get(i);
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.highestValue(i), this.getMax());
+            }
+        }
+        return this.getMax();
+    }
+
+    public void reset() {
+        for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.reset();
+    }
+}
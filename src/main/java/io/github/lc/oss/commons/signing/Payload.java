@@ -0,0 +1,13 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+
+/**
+ * Data to be signed or verified, fed into a {@linkplain Sink} in one or more
+ * chunks. See {@linkplain Payloads} for the available sources.
+ */
+@FunctionalInterface
+interface Payload {
+    void writeTo(Sink sink) throws IOException, GeneralSecurityException;
+}
@@ -0,0 +1,118 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+
+final class Payloads {
+    static final int BUFFER_SIZE = 8192;
+    static final long MAP_WINDOW = 64L * 1024 * 1024;
+
+    /*
+     * Read buffers are pooled the same way as engines so that streaming a payload
+     * of any size costs a fixed amount of memory and, in the steady state, no
+     * allocation.
+     */
+    private static final EnginePool<byte[]> BUFFERS = new EnginePool<>(() -> new byte[Payloads.BUFFER_SIZE]);
+
+    /**
+     * @return A pooled buffer if <code>size</code> fits, otherwise a new one. Hand
+     *         it back with {@linkplain #release(byte[])} when done.
+     */
+    static byte[] buffer(int size) {
+        if (size > Payloads.BUFFER_SIZE) {
+            return new byte[size];
+        }
+        try {
+            return Payloads.BUFFERS.acquire();
+        } catch (GeneralSecurityException ex) {
+            // the buffer factory never throws
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    static void release(byte[] buffer) {
+        if (buffer.length == Payloads.BUFFER_SIZE) {
+            Payloads.BUFFERS.release(buffer);
+        }
+    }
+
+    static Payload of(byte[] data) {
+        return sink -> sink.update(data);
+    }
+
+    static Payload of(ByteBuffer[] data) {
+        return sink -> {
+            for (ByteBuffer buffer : data) {
+                sink.update(buffer);
+            }
+        };
+    }
+
+    static Payload of(InputStream data) {
+        return sink -> {
+            byte[] buffer = Payloads.BUFFERS.acquire();
+            try {
+                int read;
+                while ((read = data.read(buffer)) != -1) {
+                    sink.update(buffer, 0, read);
+                }
+            } finally {
+                Payloads.BUFFERS.release(buffer);
+            }
+        };
+    }
+
+    static Payload of(ReadableByteChannel data) {
+        return sink -> {
+            byte[] buffer = Payloads.BUFFERS.acquire();
+            try {
+                ByteBuffer wrapper = ByteBuffer.wrap(buffer);
+                while (data.read(wrapper) != -1) {
+                    sink.update(buffer, 0, wrapper.position());
+                    wrapper.clear();
+                }
+            } finally {
+                Payloads.BUFFERS.release(buffer);
+            }
+        };
+    }
+
+    static Payload of(Path data) {
+        return sink -> {
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                Payloads.of(channel).writeTo(sink);
+            }
+        };
+    }
+
+    /**
+     * Maps the file into memory in windows of {@value #MAP_WINDOW} bytes and
+     * hands each window to the engine as a direct buffer, the file contents are
+     * never copied onto the heap by this library (providers may still copy small
+     * chunks internally). Windows are released when their buffers are collected.
+     */
+    static Payload mapped(Path data) {
+        return Payloads.mapped(data, Payloads.MAP_WINDOW);
+    }
+
+    static Payload mapped(Path data, long window) {
+        return sink -> {
+            try (FileChannel channel = FileChannel.open(data, StandardOpenOption.READ)) {
+                long size = channel.size();
+                for (long position = 0; position < size; position += window) {
+                    long length = Math.min(window, size - position);
+                    sink.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+                }
+            }
+        };
+    }
+
+    private Payloads() {
+    }
+}
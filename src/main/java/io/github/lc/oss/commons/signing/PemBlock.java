@@ -0,0 +1,29 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * A decoded PEM block, see {@linkplain PemReader#readAll(CharSequence)}.
+ */
+public class PemBlock {
+    private final String type;
+    private final byte[] data;
+
+    public PemBlock(String type, byte[] data) {
+        this.type = type;
+        this.data = data;
+    }
+
+    /**
+     * @return The label of the block, e.g. <code>CERTIFICATE</code>,
+     *         <code>PRIVATE KEY</code> or <code>PUBLIC KEY</code>
+     */
+    public String getType() {
+        return this.type;
+    }
+
+    /**
+     * @return The DER encoded content
+     */
+    public byte[] getData() {
+        return this.data;
+    }
+}
@@ -0,0 +1,251 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Single pass PEM (RFC 7468) reader for bundles of any number of blocks, e.g.
+ * certificates (<code>CERTIFICATE</code>), PKCS#8 keys (<code>PRIVATE KEY</code>)
+ * and SubjectPublicKeyInfo (<code>PUBLIC KEY</code>). Text outside of blocks is
+ * ignored. Each block is Base64 decoded as it is read into a buffer that is
+ * reused for every block and every read, so apart from the block labels
+ * nothing is allocated per block once the buffer has grown to the largest
+ * block.<br />
+ * <br />
+ * Instances are not thread safe.
+ */
+public class PemReader {
+    private static final String BEGIN = "-----BEGIN ";
+    private static final String END = "-----END ";
+    private static final String DASHES = "-----";
+
+    /**
+     * Receives every block of a bundle in order. <code>data</code> is only valid
+     * for the duration of the call, it is overwritten by the next block.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        void block(String type, byte[] data, int length);
+    }
+
+    @FunctionalInterface
+    private interface Source {
+        /*
+         * @return The next character, -1 at the end of the input
+         */
+        int next() throws IOException;
+    }
+
+    private final StringBuilder line = new StringBuilder(80);
+    private final char[] chars = new char[4096];
+    private byte[] buffer = new byte[2048];
+    private int length;
+    private int bits;
+    private int count;
+    private boolean padded;
+
+    /**
+     * @return Every block of <code>pem</code>
+     */
+    public static List<PemBlock> readAll(CharSequence pem) {
+        List<PemBlock> blocks = new ArrayList<>();
+        new PemReader().read(pem, (type, data, length) -> blocks.add(new PemBlock(type, Arrays.copyOf(data, length))));
+        return Collections.unmodifiableList(blocks);
+    }
+
+    /**
+     * @return The number of blocks read
+     */
+    public int read(CharSequence pem, Handler handler) {
+        int[] index = new int[1];
+        return this.parse(() -> index[0] < pem.length() ? pem.charAt(index[0]++) : -1, handler);
+    }
+
+    /**
+     * Reads ASCII encoded PEM from the remaining bytes of <code>pem</code>, the
+     * buffer is advanced to its limit.
+     *
+     * @return The number of blocks read
+     */
+    public int read(ByteBuffer pem, Handler handler) {
+        return this.parse(() -> pem.hasRemaining() ? pem.get() & 0xff : -1, handler);
+    }
+
+    /**
+     * Reads <code>pem</code> to its end, it is not closed.
+     *
+     * @return The number of blocks read
+     */
+    public int read(Reader pem, Handler handler) {
+        int[] state = new int[2];
+        return this.parse(() -> {
+            if (state[0] == state[1]) {
+                state[1] = pem.read(this.chars);
+                state[0] = 0;
+                if (state[1] < 0) {
+                    state[1] = 0;
+                    return -1;
+                }
+            }
+            return this.chars[state[0]++];
+        }, handler);
+    }
+
+    /*
+     * Decodes Base64 ignoring whitespace, for keys stored without PEM armour.
+     */
+    byte[] decode(CharSequence base64) {
+        this.begin();
+        for (int i = 0; i < base64.length(); i++) {
+            this.accept(base64.charAt(i));
+        }
+        this.finish();
+        return Arrays.copyOf(this.buffer, this.length);
+    }
+
+    private int parse(Source source, Handler handler) {
+        try {
+            int blocks = 0;
+            while (this.readLine(source)) {
+                int from = 0;
+                int begin = this.line.indexOf(PemReader.BEGIN);
+                while (begin >= 0) {
+                    int end = this.line.indexOf(PemReader.DASHES, begin + PemReader.BEGIN.length());
+                    if (end < 0) {
+                        break;
+                    }
+                    String type = this.line.substring(begin + PemReader.BEGIN.length(), end);
+                    from = this.readBlock(source, type, end + PemReader.DASHES.length());
+                    handler.block(type, this.buffer, this.length);
+                    blocks++;
+                    begin = this.line.indexOf(PemReader.BEGIN, from);
+                }
+            }
+            return blocks;
+        } catch (IOException ex) {
+            throw new RuntimeException("Error reading PEM", ex);
+        }
+    }
+
+    /*
+     * Decodes the block starting at from in the current line, which may also end
+     * on that line (e.g. PEM with its line breaks removed).
+     *
+     * @return The index following the END line in the then current line
+     */
+    private int readBlock(Source source, String type, int from) throws IOException {
+        this.begin();
+        int start = from;
+        while (true) {
+            int end = this.line.indexOf(PemReader.END, start);
+            int data = end < 0 ? this.line.length() : end;
+            int colon = this.line.indexOf(":", start);
+            if (colon >= 0 && colon < data) {
+                throw new IllegalArgumentException(String.format("Headers in %s are not supported", type));
+            }
+            for (int i = start; i < data; i++) {
+                this.accept(this.line.charAt(i));
+            }
+
+            if (end >= 0) {
+                int typeEnd = end + PemReader.END.length() + type.length();
+                if (!this.matches(end + PemReader.END.length(), type) || !this.matches(typeEnd, PemReader.DASHES)) {
+                    throw new IllegalArgumentException(String.format("END line does not match BEGIN %s", type));
+                }
+                this.finish();
+                return typeEnd + PemReader.DASHES.length();
+            }
+            if (!this.readLine(source)) {
+                throw new IllegalArgumentException(String.format("Missing END line for %s", type));
+            }
+            start = 0;
+        }
+    }
+
+    /*
+     * @return false at the end of the input if nothing was read
+     */
+    private boolean readLine(Source source) throws IOException {
+        this.line.setLength(0);
+        int c = source.next();
+        if (c < 0) {
+            return false;
+        }
+        while (c >= 0 && c != '\n') {
+            this.line.append((char) c);
+            c = source.next();
+        }
+        return true;
+    }
+
+    private boolean matches(int offset, String value) {
+        if (this.line.length() < offset + value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (this.line.charAt(offset + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void begin() {
+        this.length = 0;
+        this.bits = 0;
+        this.count = 0;
+        this.padded = false;
+    }
+
+    private void accept(char c) {
+        if (Character.isWhitespace(c)) {
+            return;
+        }
+        if (c == '=') {
+            this.padded = true;
+            return;
+        }
+        if (this.padded) {
+            throw new IllegalArgumentException("Input byte array has incorrect ending byte");
+        }
+
+        this.bits = this.bits << 6 | Base64Codec.STANDARD.value(c);
+        if (++this.count == 4) {
+            this.ensureCapacity(3);
+            this.buffer[this.length++] = (byte) (this.bits >>> 16);
+            this.buffer[this.length++] = (byte) (this.bits >>> 8);
+            this.buffer[this.length++] = (byte) this.bits;
+            this.bits = 0;
+            this.count = 0;
+        }
+    }
+
+    private void finish() {
+        switch (this.count) {
+            case 0:
+                break;
+            case 2:
+                this.ensureCapacity(1);
+                this.buffer[this.length++] = (byte) (this.bits >>> 4);
+                break;
+            case 3:
+                this.ensureCapacity(2);
+                this.buffer[this.length++] = (byte) (this.bits >>> 10);
+                this.buffer[this.length++] = (byte) (this.bits >>> 2);
+                break;
+            default:
+                throw new IllegalArgumentException("Last unit does not have enough valid bits");
+        }
+    }
+
+    private void ensureCapacity(int additional) {
+        if (this.length + additional > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length * 2, this.length + additional));
+        }
+    }
+}
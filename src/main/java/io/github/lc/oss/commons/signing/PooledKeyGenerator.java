@@ -0,0 +1,92 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.KeyPair;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@linkplain KeyGenerator} that keeps key pairs ready for the given
+ * algorithms and refills them in the background, see
+ * {@linkplain KeyPairPoolOptions}. When a pool is empty the key pair is
+ * generated on the caller's thread. Algorithms without a pool are always
+ * generated on the caller's thread.
+ *
+ * <pre>
+ * PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.RS256));
+ * ...
+ * KeyPair pair = generator.generate(Algorithms.RS256);
+ * </pre>
+ */
+public class PooledKeyGenerator extends KeyGenerator implements AutoCloseable {
+    private final Map<Algorithm, KeyPairPool> pools;
+
+    public PooledKeyGenerator(Set<Algorithm> algorithms) {
+        this(algorithms, new KeyPairPoolOptions());
+    }
+
+    /**
+     * Starts filling every pool right away.
+     */
+    public PooledKeyGenerator(Set<Algorithm> algorithms, KeyPairPoolOptions options) {
+        if (algorithms == null) {
+            throw new IllegalArgumentException("Algorithms are required");
+        }
+        if (options == null) {
+            throw new IllegalArgumentException("Options are required");
+        }
+        if (options.getLowWatermark() >= options.getHighWatermark()) {
+            throw new IllegalArgumentException("Low watermark must be below high watermark");
+        }
+
+        KeyGenerator generator = new KeyGenerator();
+        Map<Algorithm, KeyPairPool> map = new LinkedHashMap<>();
+        for (Algorithm algorithm : algorithms) {
+            if (algorithm == null) {
+                throw new IllegalArgumentException("Algorithms cannot contain null entries");
+            }
+            if (algorithm instanceof HmacAlgorithm) {
+                throw new IllegalArgumentException(String.format("%s does not use key pairs", algorithm.getId()));
+            }
+            map.put(algorithm, new KeyPairPool(algorithm, generator, options));
+        }
+        this.pools = Collections.unmodifiableMap(map);
+
+        for (KeyPairPool pool : this.pools.values()) {
+            pool.refill();
+        }
+    }
+
+    @Override
+    public KeyPair generate(Algorithm algorithm) {
+        KeyPairPool pool = this.pools.get(algorithm);
+        if (pool == null) {
+            return super.generate(algorithm);
+        }
+        return pool.take();
+    }
+
+    /**
+     * @return The pool of the given algorithm, <code>null</code> if it is not
+     *         pooled
+     */
+    public KeyPairPool getPool(Algorithm algorithm) {
+        return this.pools.get(algorithm);
+    }
+
+    public Map<Algorithm, KeyPairPool> getPools() {
+        return this.pools;
+    }
+
+    /**
+     * Stops refilling and discards all ready key pairs. Key pairs are generated
+     * on the caller's thread afterwards.
+     */
+    @Override
+    public void close() {
+        for (KeyPairPool pool : this.pools.values()) {
+            pool.close();
+        }
+    }
+}
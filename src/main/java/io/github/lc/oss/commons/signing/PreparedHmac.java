@@ -0,0 +1,226 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+/**
+ * An HMAC that has already been keyed with a single secret, see
+ * {@linkplain HmacAlgorithm#prepare(byte[])}. Instances are thread safe and
+ * intended to be reused for the lifetime of the secret.
+ */
+public class PreparedHmac implements Signer, Verifier {
+    private final HmacAlgorithm algorithm;
+    private final EnginePool<Mac> macs;
+
+    PreparedHmac(HmacAlgorithm algorithm, SecretKey key, Mac template) {
+        this.algorithm = algorithm;
+        /*
+         * The template is never used directly, it only serves as the source for
+         * copies of the initialized pad state. Providers that do not support cloning
+         * fall back to keying a new instance from the same provider.
+         */
+        this.macs = new EnginePool<>(() -> {
+            try {
+                return (Mac) template.clone();
+            } catch (CloneNotSupportedException ex) {
+                Mac mac = Mac.getInstance(algorithm.getAlgorithm(), template.getProvider());
+                mac.init(key);
+                return mac;
+            }
+        });
+    }
+
+    @Override
+    public HmacAlgorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    @Override
+    public String getSignature(String data) {
+        return this.getSignature(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public String getSignature(byte[] data) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.SIGN);
+        long start = this.algorithm.startTimer();
+        String signature = this.algorithm.toBase64(this.compute(data, event));
+        SignatureEvent.lapBase64(event);
+        SignatureEvent.complete(event);
+        return this.algorithm.signed(start, signature);
+    }
+
+    @Override
+    public int getSignature(byte[] data, char[] out, int offset) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.SIGN);
+        long start = this.algorithm.startTimer();
+        byte[] buffer = Payloads.buffer(HmacAlgorithm.MAX_MAC_LENGTH);
+        try {
+            int length = this.compute(data, buffer, 0, event);
+            int chars = Base64Codec.STANDARD.encode(buffer, 0, length, out, offset);
+            SignatureEvent.lapBase64(event);
+            SignatureEvent.complete(event);
+            return this.algorithm.signed(start, chars);
+        } catch (IllegalArgumentException ex) {
+            this.algorithm.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(String data, String signature) {
+        return this.isSignatureValid(data.getBytes(StandardCharsets.UTF_8), signature);
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, String signature) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.VERIFY);
+        long start = this.algorithm.startTimer();
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature));
+        try {
+            int length = Base64Codec.STANDARD.decode(signature, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return this.algorithm.verified(start, SignatureEvent.complete(event, this.isSignatureValid(data, buffer, length, event)));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, char[] signature, int offset, int length) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.VERIFY);
+        long start = this.algorithm.startTimer();
+        byte[] buffer = Payloads.buffer(Base64Codec.STANDARD.decodedLength(signature, offset, length));
+        try {
+            int decoded = Base64Codec.STANDARD.decode(signature, offset, length, buffer, 0);
+            SignatureEvent.lapBase64(event);
+            return this.algorithm.verified(start, SignatureEvent.complete(event, this.isSignatureValid(data, buffer, decoded, event)));
+        } finally {
+            Payloads.release(buffer);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(byte[] data, byte[] signature) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.VERIFY);
+        long start = this.algorithm.startTimer();
+        byte[] actual = this.compute(data, event);
+        return this.algorithm.verified(start, SignatureEvent.complete(event, MessageDigest.isEqual(actual, signature)));
+    }
+
+    @Override
+    public int sign(ByteBuffer[] data, ByteBuffer out) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.SIGN);
+        long start = this.algorithm.startTimer();
+        try {
+            Mac mac = this.macs.acquire();
+            SignatureEvent.lapEngine(event);
+            /*
+             * doFinal into the backing array only checks the array's length, not the
+             * buffer's limit.
+             */
+            int length = mac.getMacLength();
+            if (out.remaining() < length) {
+                this.macs.release(mac);
+                throw new BufferOverflowException();
+            }
+            for (ByteBuffer buffer : data) {
+                SignatureEvent.payload(event, buffer.remaining());
+                mac.update(buffer);
+            }
+            SignatureEvent.lapUpdate(event);
+            if (out.hasArray()) {
+                mac.doFinal(out.array(), out.arrayOffset() + out.position());
+                out.position(out.position() + length);
+            } else {
+                out.put(mac.doFinal());
+            }
+            SignatureEvent.lapFinal(event);
+            this.macs.release(mac);
+            SignatureEvent.complete(event);
+            return this.algorithm.signed(start, length);
+        } catch (Exception ex) {
+            this.algorithm.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+
+    @Override
+    public boolean isSignatureValid(ByteBuffer[] data, ByteBuffer signature) {
+        SignatureEvent event = SignatureEvent.start(this.algorithm, SignatureEvent.VERIFY);
+        long start = this.algorithm.startTimer();
+        byte[] actual = this.compute(Payloads.of(data), event);
+        boolean result = HmacAlgorithm.isEqual(actual, signature);
+        return this.algorithm.verified(start, SignatureEvent.complete(event, result));
+    }
+
+    /*
+     * The decoded signature occupies buffer[0, length).
+     */
+    private boolean isSignatureValid(byte[] data, byte[] buffer, int length, SignatureEvent event) {
+        byte[] actual = this.compute(data, event);
+        return HmacAlgorithm.isEqual(actual, buffer, length);
+    }
+
+    private byte[] compute(byte[] data, SignatureEvent event) {
+        try {
+            Mac mac = this.macs.acquire();
+            SignatureEvent.lapEngine(event);
+            mac.update(data);
+            SignatureEvent.payload(event, data.length);
+            SignatureEvent.lapUpdate(event);
+            byte[] result = mac.doFinal();
+            SignatureEvent.lapFinal(event);
+            this.macs.release(mac);
+            return result;
+        } catch (Exception ex) {
+            this.algorithm.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+
+    private byte[] compute(Payload data, SignatureEvent event) {
+        try {
+            Mac mac = this.macs.acquire();
+            SignatureEvent.lapEngine(event);
+            data.writeTo(SignatureEvent.count(event, Sink.of(mac)));
+            SignatureEvent.lapUpdate(event);
+            /*
+             * doFinal leaves the Mac keyed and ready for the next message so no further
+             * initialization is required before returning it to the pool.
+             */
+            byte[] result = mac.doFinal();
+            SignatureEvent.lapFinal(event);
+            this.macs.release(mac);
+            return result;
+        } catch (Exception ex) {
+            this.algorithm.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+
+    private int compute(byte[] data, byte[] out, int offset, SignatureEvent event) {
+        try {
+            Mac mac = this.macs.acquire();
+            SignatureEvent.lapEngine(event);
+            mac.update(data);
+            SignatureEvent.payload(event, data.length);
+            SignatureEvent.lapUpdate(event);
+            int length = mac.getMacLength();
+            mac.doFinal(out, offset);
+            SignatureEvent.lapFinal(event);
+            this.macs.release(mac);
+            return length;
+        } catch (Exception ex) {
+            this.algorithm.failed();
+            throw new RuntimeException("Failed to calculate HMAC", ex);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.Provider;
+import java.security.SecureRandom;
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Implementation of {@linkplain Algorithms#calibrateProviders(Set, int)}.
+ */
+final class ProviderCalibration {
+    private static final int PAYLOAD_SIZE = 256;
+
+    static Map<Algorithm, Provider> run(Set<Algorithm> algorithms, int iterations) {
+        List<Provider> candidates = ProviderCalibration.providers();
+        byte[] payload = new byte[ProviderCalibration.PAYLOAD_SIZE];
+        new SecureRandom().nextBytes(payload);
+
+        Map<Algorithm, Provider> result = new LinkedHashMap<>();
+        for (Algorithm algorithm : algorithms) {
+            if (algorithm == null) {
+                throw new IllegalArgumentException("Algorithms cannot contain null entries");
+            }
+            if (algorithm instanceof AbstractAlgorithm) {
+                Provider best = ProviderCalibration.calibrate((AbstractAlgorithm) algorithm, candidates, iterations, payload);
+                if (best != null) {
+                    result.put(algorithm, best);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /*
+     * The algorithm's provider lock keeps concurrent setProvider calls out while it is
+     * switched between candidates. Its original provider is restored if no
+     * candidate is correct.
+     */
+    private static Provider calibrate(AbstractAlgorithm algorithm, List<Provider> candidates, int iterations, byte[] payload) {
+        byte[][] keys = WarmUp.keys(algorithm);
+        if (keys == null) {
+            return null;
+        }
+
+        ReentrantLock lock = algorithm.providerLock();
+        lock.lock();
+        try {
+            Provider original = algorithm.getProvider();
+            Provider best = null;
+            try {
+                algorithm.setProvider(null);
+                String reference = algorithm.getSignature(keys[0], payload);
+
+                Map<Provider, String> signatures = new LinkedHashMap<>();
+                Map<Provider, Long> timings = new LinkedHashMap<>();
+                for (Provider provider : candidates) {
+                    try {
+                        algorithm.setProvider(provider);
+                    } catch (IllegalArgumentException ex) {
+                        // does not implement this algorithm
+                        continue;
+                    }
+
+                    try {
+                        String signature = algorithm.getSignature(keys[0], payload);
+                        if (ProviderCalibration.isCorrect(algorithm, keys, payload, signature, reference)) {
+                            signatures.put(provider, signature);
+                            timings.put(provider, ProviderCalibration.time(algorithm, keys, payload, iterations));
+                        }
+                    } catch (RuntimeException ex) {
+                        // fails with keys of the default provider
+                    }
+                }
+
+                algorithm.setProvider(null);
+                long fastest = Long.MAX_VALUE;
+                for (Map.Entry<Provider, Long> timing : timings.entrySet()) {
+                    boolean accepted = algorithm.isSignatureValid(keys[1], payload, signatures.get(timing.getKey()));
+                    if (accepted && timing.getValue() < fastest) {
+                        fastest = timing.getValue();
+                        best = timing.getKey();
+                    }
+                }
+            } finally {
+                algorithm.setProvider(best == null ? original : best);
+            }
+            return best;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * The provider has to accept its own and the reference signature and reject a
+     * signature over different data.
+     */
+    private static boolean isCorrect(Algorithm algorithm, byte[][] keys, byte[] payload, String signature, String reference) {
+        byte[] other = payload.clone();
+        other[0] ^= 0x01;
+        return algorithm.isSignatureValid(keys[1], payload, signature) && algorithm.isSignatureValid(keys[1], payload, reference)
+                && !algorithm.isSignatureValid(keys[1], other, signature);
+    }
+
+    /*
+     * Warms the provider up with as many rounds as are timed, then returns the
+     * nanoseconds taken by the timed rounds.
+     */
+    private static long time(Algorithm algorithm, byte[][] keys, byte[] payload, int iterations) {
+        Signer signer = algorithm.newSigner(keys[0]);
+        Verifier verifier = algorithm.newVerifier(keys[1]);
+        ProviderCalibration.rounds(signer, verifier, payload, iterations);
+        long start = System.nanoTime();
+        ProviderCalibration.rounds(signer, verifier, payload, iterations);
+        return System.nanoTime() - start;
+    }
+
+    private static void rounds(Signer signer, Verifier verifier, byte[] payload, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            if (!verifier.isSignatureValid(payload, signer.getSignature(payload))) {
+                throw new RuntimeException("Signature did not verify");
+            }
+        }
+    }
+
+    /*
+     * Installed providers first, followed by those only available as services
+     * (e.g. a provider on the module path that was never added to Security).
+     */
+    static List<Provider> providers() {
+        List<Provider> providers = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (Provider provider : Security.getProviders()) {
+            providers.add(provider);
+            names.add(provider.getName());
+        }
+
+        Iterator<Provider> services = ServiceLoader.load(Provider.class).iterator();
+        while (true) {
+            try {
+                if (!services.hasNext()) {
+                    break;
+                }
+                Provider provider = services.next();
+                if (names.add(provider.getName())) {
+                    providers.add(provider);
+                }
+            } catch (ServiceConfigurationError ex) {
+                // skip providers that cannot be instantiated
+            }
+        }
+        return providers;
+    }
+
+    private ProviderCalibration() {
+    }
+}
@@ -0,0 +1,266 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.lang.ref.WeakReference;
+import java.security.PublicKey;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for a single sign or verify operation, broken down into
+ * phases. Phases are timed back to back, each one covers the time since the
+ * previous one ended.<br />
+ * <br />
+ * The static helpers accept <code>null</code>, which is what
+ * {@linkplain #start(Algorithm, String)} returns while the event is disabled,
+ * so that a disabled event costs a single check per operation and neither
+ * allocates nor reads the clock. The key fingerprint is only recorded for
+ * public keys and only for events that pass the recording's threshold, it is
+ * remembered per key in a small lock free table. Private and secret keys are
+ * never hashed into a recording.
+ */
+@Name("io.github.lc.oss.commons.signing.Signature")
+@Label("Signature")
+@Category({ "OSS Commons", "Signing" })
+@Description("Sign or verify operation with per phase timing")
+@StackTrace(false)
+final class SignatureEvent extends Event {
+    static final String SIGN = "sign";
+    static final String VERIFY = "verify";
+
+    private static final SignatureEvent PROBE = new SignatureEvent();
+    /*
+     * Direct mapped by identity hash, power of two. A slot only ever holds a
+     * complete Fingerprint, so racing threads at worst hash the same key twice or
+     * evict each other's entry.
+     */
+    private static final int FINGERPRINT_SLOTS = 64;
+    private static final AtomicReferenceArray<Fingerprint> FINGERPRINTS = new AtomicReferenceArray<>(SignatureEvent.FINGERPRINT_SLOTS);
+
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Payload Size")
+    @DataAmount
+    long payloadSize;
+
+    @Label("Key Fingerprint")
+    @Description("First 64 bits of the SHA-256 of the encoded public key, Base64 URL encoded, empty for private and secret keys")
+    String keyFingerprint;
+
+    @Label("Valid")
+    @Description("Outcome of a verify operation, always false for sign")
+    boolean valid;
+
+    @Label("Engine")
+    @Description("Acquiring a pooled Signature/Mac, including provider lookup when a new one is needed")
+    @Timespan
+    long engine;
+
+    @Label("Init")
+    @Description("initSign/initVerify, or keying the Mac")
+    @Timespan
+    long init;
+
+    @Label("Update")
+    @Description("Hashing the payload")
+    @Timespan
+    long update;
+
+    @Label("Final")
+    @Description("Computing or checking the signature")
+    @Timespan
+    long finish;
+
+    @Label("Base64")
+    @Description("Encoding or decoding the signature")
+    @Timespan
+    long base64;
+
+    private transient long mark;
+
+    /**
+     * @return A started event or <code>null</code> if the event is disabled
+     */
+    static SignatureEvent start(Algorithm algorithm, String operation) {
+        if (!SignatureEvent.PROBE.isEnabled()) {
+            return null;
+        }
+
+        SignatureEvent event = new SignatureEvent();
+        event.algorithm = algorithm.getId();
+        event.operation = operation;
+        event.begin();
+        event.mark = System.nanoTime();
+        return event;
+    }
+
+    static void lapEngine(SignatureEvent event) {
+        if (event != null) {
+            event.engine += event.lap();
+        }
+    }
+
+    static void lapInit(SignatureEvent event) {
+        if (event != null) {
+            event.init += event.lap();
+        }
+    }
+
+    static void lapUpdate(SignatureEvent event) {
+        if (event != null) {
+            event.update += event.lap();
+        }
+    }
+
+    static void lapFinal(SignatureEvent event) {
+        if (event != null) {
+            event.finish += event.lap();
+        }
+    }
+
+    static void lapBase64(SignatureEvent event) {
+        if (event != null) {
+            event.base64 += event.lap();
+        }
+    }
+
+    static void payload(SignatureEvent event, long size) {
+        if (event != null) {
+            event.payloadSize += size;
+        }
+    }
+
+    /**
+     * @return <code>sink</code> itself or, while recording, a view that adds
+     *         everything written to it to the payload size
+     */
+    static Sink count(SignatureEvent event, Sink sink) {
+        if (event == null) {
+            return sink;
+        }
+
+        return new Sink() {
+            @Override
+            public void update(byte[] data) throws GeneralSecurityException {
+                event.payloadSize += data.length;
+                sink.update(data);
+            }
+
+            @Override
+            public void update(byte[] data, int offset, int length) throws GeneralSecurityException {
+                event.payloadSize += length;
+                sink.update(data, offset, length);
+            }
+
+            @Override
+            public void update(ByteBuffer data) throws GeneralSecurityException {
+                event.payloadSize += data.remaining();
+                sink.update(data);
+            }
+        };
+    }
+
+    /**
+     * Completes a sign operation or an operation with a secret key, neither
+     * records a key fingerprint.
+     */
+    static void complete(SignatureEvent event) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.commit();
+            }
+        }
+    }
+
+    static void complete(SignatureEvent event, PublicKey key) {
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.keyFingerprint = SignatureEvent.fingerprint(key);
+                event.commit();
+            }
+        }
+    }
+
+    static boolean complete(SignatureEvent event, boolean valid) {
+        if (event != null) {
+            event.valid = valid;
+            SignatureEvent.complete(event);
+        }
+        return valid;
+    }
+
+    static boolean complete(SignatureEvent event, PublicKey key, boolean valid) {
+        if (event != null) {
+            event.valid = valid;
+            SignatureEvent.complete(event, key);
+        }
+        return valid;
+    }
+
+    static String fingerprint(PublicKey key) {
+        if (key == null) {
+            return null;
+        }
+
+        int slot = System.identityHashCode(key) & (SignatureEvent.FINGERPRINT_SLOTS - 1);
+        Fingerprint cached = SignatureEvent.FINGERPRINTS.get(slot);
+        if (cached != null && cached.get() == key) {
+            return cached.value;
+        }
+
+        String fingerprint = SignatureEvent.fingerprint(key.getEncoded());
+        if (fingerprint != null) {
+            SignatureEvent.FINGERPRINTS.set(slot, new Fingerprint(key, fingerprint));
+        }
+        return fingerprint;
+    }
+
+    static String fingerprint(byte[] encoded) {
+        if (encoded == null) {
+            return null;
+        }
+
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(encoded);
+            return Base64Codec.URL.encode(hash, 0, 8);
+        } catch (GeneralSecurityException ex) {
+            return null;
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long elapsed = now - this.mark;
+        this.mark = now;
+        return elapsed;
+    }
+
+    /*
+     * Does not keep the key reachable, a collected key's slot is simply
+     * overwritten by the next key mapped to it.
+     */
+    private static final class Fingerprint extends WeakReference<PublicKey> {
+        private final String value;
+
+        Fingerprint(PublicKey key, String value) {
+            super(key);
+            this.value = value;
+        }
+    }
+}
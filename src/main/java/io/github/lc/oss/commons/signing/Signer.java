@@ -0,0 +1,40 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable, thread safe signer bound to a single key. The key is decoded and
+ * validated once when the signer is created, see
+ * {@linkplain Algorithm#newSigner(java.security.PrivateKey)}.
+ */
+public interface Signer {
+    Algorithm getAlgorithm();
+
+    String getSignature(String data);
+
+    String getSignature(byte[] data);
+
+    /**
+     * Signs the remaining bytes of each buffer, consuming them, and writes the raw
+     * signature to <code>out</code>.
+     *
+     * @return The number of bytes written to <code>out</code>
+     */
+    int sign(ByteBuffer[] data, ByteBuffer out);
+
+    default int sign(ByteBuffer data, ByteBuffer out) {
+        return this.sign(new ByteBuffer[] { data }, out);
+    }
+
+    /**
+     * Writes the Base64 encoded signature to <code>out</code> starting at
+     * <code>offset</code>.
+     *
+     * @return The number of characters written to <code>out</code>
+     */
+    default int getSignature(byte[] data, char[] out, int offset) {
+        String signature = this.getSignature(data);
+        signature.getChars(0, signature.length(), out, offset);
+        return signature.length();
+    }
+}
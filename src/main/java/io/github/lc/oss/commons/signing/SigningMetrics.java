@@ -0,0 +1,43 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * Instrumentation SPI called by the built in algorithms, see
+ * {@linkplain AbstractAlgorithm#setMetrics(SigningMetrics)}. Every method has
+ * an empty default so implementations only override what they record.
+ * Implementations are called on the signing thread and must be thread safe
+ * and cheap.<br />
+ * <br />
+ * Algorithms use {@linkplain #NOOP} by default, in which case they do not even
+ * read the clock.
+ */
+public interface SigningMetrics {
+    SigningMetrics NOOP = new SigningMetrics() {
+    };
+
+    /**
+     * A signature was created in <code>nanos</code> nanoseconds.
+     */
+    default void signed(String algorithmId, long nanos) {
+    }
+
+    /**
+     * A signature was checked in <code>nanos</code> nanoseconds,
+     * <code>valid</code> is the outcome of the check.
+     */
+    default void verified(String algorithmId, boolean valid, long nanos) {
+    }
+
+    /**
+     * A sign or verify operation failed with an exception, e.g. an invalid key.
+     * A signature that simply does not match is reported through
+     * {@linkplain #verified(String, boolean, long)} instead.
+     */
+    default void failed(String algorithmId) {
+    }
+
+    /**
+     * A decoded key was looked up in the algorithm's {@linkplain KeyCache}.
+     */
+    default void keyCacheAccessed(String algorithmId, boolean hit) {
+    }
+}
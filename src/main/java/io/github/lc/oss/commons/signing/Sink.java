@@ -0,0 +1,57 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+
+import javax.crypto.Mac;
+
+/**
+ * Common view of the update methods of {@linkplain Signature} and
+ * {@linkplain Mac} so that a {@linkplain Payload} can feed either one.
+ */
+interface Sink {
+    static Sink of(Signature signature) {
+        return new Sink() {
+            @Override
+            public void update(byte[] data) throws GeneralSecurityException {
+                signature.update(data);
+            }
+
+            @Override
+            public void update(byte[] data, int offset, int length) throws GeneralSecurityException {
+                signature.update(data, offset, length);
+            }
+
+            @Override
+            public void update(ByteBuffer data) throws GeneralSecurityException {
+                signature.update(data);
+            }
+        };
+    }
+
+    static Sink of(Mac mac) {
+        return new Sink() {
+            @Override
+            public void update(byte[] data) {
+                mac.update(data);
+            }
+
+            @Override
+            public void update(byte[] data, int offset, int length) {
+                mac.update(data, offset, length);
+            }
+
+            @Override
+            public void update(ByteBuffer data) {
+                mac.update(data);
+            }
+        };
+    }
+
+    void update(byte[] data) throws GeneralSecurityException;
+
+    void update(byte[] data, int offset, int length) throws GeneralSecurityException;
+
+    void update(ByteBuffer data) throws GeneralSecurityException;
+}
@@ -0,0 +1,103 @@
+package io.github.lc.oss.commons.signing;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.EdECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+
+/**
+ * Key and certificate fingerprints used by {@linkplain TrustStore}.
+ */
+final class Thumbprints {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /*
+     * RFC 7638 JWK thumbprint, Base64 URL encoded without padding. The required
+     * members are hashed in lexicographic order without whitespace.
+     */
+    static String thumbprint(PublicKey key) {
+        String jwk;
+        if (key instanceof RSAPublicKey) {
+            RSAPublicKey rsa = (RSAPublicKey) key;
+            jwk = String.format("{\"e\":\"%s\",\"kty\":\"RSA\",\"n\":\"%s\"}", Thumbprints.unsigned(rsa.getPublicExponent()),
+                    Thumbprints.unsigned(rsa.getModulus()));
+        } else if (key instanceof ECPublicKey) {
+            ECPublicKey ec = (ECPublicKey) key;
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            jwk = String.format("{\"crv\":\"%s\",\"kty\":\"EC\",\"x\":\"%s\",\"y\":\"%s\"}", Thumbprints.curve(ec),
+                    Thumbprints.fixed(ec.getW().getAffineX(), size), Thumbprints.fixed(ec.getW().getAffineY(), size));
+        } else if (key instanceof EdECPublicKey) {
+            String curve = ((EdECPublicKey) key).getParams().getName();
+            int size = "Ed25519".equalsIgnoreCase(curve) ? 32 : 57;
+            byte[] encoded = key.getEncoded();
+            // the raw key ends the SubjectPublicKeyInfo
+            byte[] x = Arrays.copyOfRange(encoded, encoded.length - size, encoded.length);
+            jwk = String.format("{\"crv\":\"%s\",\"kty\":\"OKP\",\"x\":\"%s\"}", size == 32 ? "Ed25519" : "Ed448", Base64Codec.URL.encode(x));
+        } else {
+            throw new IllegalArgumentException(String.format("Unsupported key type %s", key.getAlgorithm()));
+        }
+        return Base64Codec.URL.encode(Thumbprints.sha256(jwk.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /*
+     * Lowercase hex SHA-256.
+     */
+    static String fingerprint(byte[] encoded) {
+        return Thumbprints.hex(Thumbprints.sha256(encoded));
+    }
+
+    static String hex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = Thumbprints.HEX[(bytes[i] & 0xff) >>> 4];
+            chars[i * 2 + 1] = Thumbprints.HEX[bytes[i] & 0x0f];
+        }
+        return new String(chars);
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new RuntimeException("SHA-256 is not available", ex);
+        }
+    }
+
+    /*
+     * secp256k1 is the only supported curve with a = 0.
+     */
+    private static String curve(ECPublicKey key) {
+        switch (key.getParams().getCurve().getField().getFieldSize()) {
+            case 256:
+                return key.getParams().getCurve().getA().signum() == 0 ? "secp256k1" : "P-256";
+            case 384:
+                return "P-384";
+            case 521:
+                return "P-521";
+            default:
+                throw new IllegalArgumentException("Unsupported curve");
+        }
+    }
+
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        int offset = bytes.length > 1 && bytes[0] == 0 ? 1 : 0;
+        return Base64Codec.URL.encode(bytes, offset, bytes.length - offset);
+    }
+
+    private static String fixed(BigInteger value, int size) {
+        byte[] bytes = value.toByteArray();
+        byte[] out = new byte[size];
+        int length = Math.min(bytes.length, size);
+        System.arraycopy(bytes, bytes.length - length, out, size - length, length);
+        return Base64Codec.URL.encode(out);
+    }
+
+    private Thumbprints() {
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.PublicKey;
+import java.security.cert.CertificateEncodingException;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In memory set of trusted public keys, each paired with the
+ * {@linkplain Algorithm} it verifies. Keys are indexed by key id, RFC 7638
+ * thumbprint and certificate SHA-256 fingerprint, all computed once when a key
+ * is added, so lookups and {@linkplain #verify(String, byte[], String)} are
+ * hash lookups. Lookups never block, adding and removing keys is serialized.
+ * When several key ids share a key, lookups by thumbprint or fingerprint return
+ * the most recently added one that is still in the store.
+ */
+public class TrustStore {
+    private final Map<String, TrustedKey> byKid = new ConcurrentHashMap<>();
+    private final Map<String, TrustedKey> byThumbprint = new ConcurrentHashMap<>();
+    private final Map<String, TrustedKey> byFingerprint = new ConcurrentHashMap<>();
+    /*
+     * Every key sharing a thumbprint or fingerprint, in the order they were added,
+     * so that removing one kid re-points the index to another. Only used while
+     * holding the lock.
+     */
+    private final Map<String, List<TrustedKey>> thumbprintOwners = new HashMap<>();
+    private final Map<String, List<TrustedKey>> fingerprintOwners = new HashMap<>();
+
+    /**
+     * Adds or replaces the key with the given id.
+     *
+     * @param kid Key id, the key's thumbprint is used if <code>null</code>
+     */
+    public TrustedKey add(String kid, Algorithm algorithm, PublicKey publicKey) {
+        if (publicKey == null) {
+            throw new IllegalArgumentException("Public key is required");
+        }
+        return this.add(kid, algorithm, publicKey, null);
+    }
+
+    /**
+     * Adds or replaces the certificate's key with the given id, the key is also
+     * indexed by the certificate's fingerprint.
+     *
+     * @param kid Key id, the key's thumbprint is used if <code>null</code>
+     */
+    public TrustedKey add(String kid, Algorithm algorithm, X509Certificate certificate) {
+        if (certificate == null) {
+            throw new IllegalArgumentException("Certificate is required");
+        }
+        return this.add(kid, algorithm, certificate.getPublicKey(), certificate);
+    }
+
+    private TrustedKey add(String kid, Algorithm algorithm, PublicKey publicKey, X509Certificate certificate) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+
+        String thumbprint = Thumbprints.thumbprint(publicKey);
+        String fingerprint = null;
+        if (certificate != null) {
+            try {
+                fingerprint = Thumbprints.fingerprint(certificate.getEncoded());
+            } catch (CertificateEncodingException ex) {
+                throw new RuntimeException("Error encoding certificate", ex);
+            }
+        }
+        TrustedKey key = new TrustedKey(kid == null ? thumbprint : kid, algorithm, publicKey, certificate, thumbprint, fingerprint);
+
+        synchronized (this) {
+            this.unindex(this.byKid.get(key.getKid()));
+            this.byKid.put(key.getKid(), key);
+            TrustStore.index(this.byThumbprint, this.thumbprintOwners, thumbprint, key);
+            if (fingerprint != null) {
+                TrustStore.index(this.byFingerprint, this.fingerprintOwners, fingerprint, key);
+            }
+        }
+        return key;
+    }
+
+    /**
+     * @return The removed key, <code>null</code> if there was none
+     */
+    public synchronized TrustedKey remove(String kid) {
+        TrustedKey key = this.byKid.remove(kid);
+        this.unindex(key);
+        return key;
+    }
+
+    public synchronized void clear() {
+        this.byKid.clear();
+        this.byThumbprint.clear();
+        this.byFingerprint.clear();
+        this.thumbprintOwners.clear();
+        this.fingerprintOwners.clear();
+    }
+
+    private void unindex(TrustedKey key) {
+        if (key == null) {
+            return;
+        }
+        TrustStore.unindex(this.byThumbprint, this.thumbprintOwners, key.getThumbprint(), key);
+        if (key.getFingerprint() != null) {
+            TrustStore.unindex(this.byFingerprint, this.fingerprintOwners, key.getFingerprint(), key);
+        }
+    }
+
+    /*
+     * The most recently added key wins the lookup.
+     */
+    private static void index(Map<String, TrustedKey> index, Map<String, List<TrustedKey>> owners, String value, TrustedKey key) {
+        owners.computeIfAbsent(value, k -> new ArrayList<>(1)).add(key);
+        index.put(value, key);
+    }
+
+    /*
+     * Falls back to the most recently added key that is left with the same value,
+     * other kids may still share the key.
+     */
+    private static void unindex(Map<String, TrustedKey> index, Map<String, List<TrustedKey>> owners, String value, TrustedKey key) {
+        List<TrustedKey> keys = owners.get(value);
+        if (keys == null || !keys.remove(key)) {
+            return;
+        }
+        if (keys.isEmpty()) {
+            owners.remove(value);
+            index.remove(value);
+        } else {
+            index.put(value, keys.get(keys.size() - 1));
+        }
+    }
+
+    public TrustedKey getByKid(String kid) {
+        return kid == null ? null : this.byKid.get(kid);
+    }
+
+    public TrustedKey getByThumbprint(String thumbprint) {
+        return thumbprint == null ? null : this.byThumbprint.get(thumbprint);
+    }
+
+    public TrustedKey getByFingerprint(String fingerprint) {
+        return fingerprint == null ? null : this.byFingerprint.get(fingerprint);
+    }
+
+    public Collection<TrustedKey> getAll() {
+        return Collections.unmodifiableCollection(this.byKid.values());
+    }
+
+    public int size() {
+        return this.byKid.size();
+    }
+
+    /**
+     * @return <code>false</code> if no key has the given id or the signature is
+     *         not valid
+     */
+    public boolean verify(String kid, byte[] data, String signature) {
+        TrustedKey key = this.getByKid(kid);
+        return key != null && key.getVerifier().isSignatureValid(data, signature);
+    }
+
+    public boolean verify(String kid, byte[] data, byte[] signature) {
+        TrustedKey key = this.getByKid(kid);
+        return key != null && key.getVerifier().isSignatureValid(data, signature);
+    }
+}
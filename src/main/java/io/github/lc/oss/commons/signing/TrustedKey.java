@@ -0,0 +1,70 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+
+/**
+ * A public key held by a {@linkplain TrustStore}, with the algorithm it
+ * verifies and its fingerprints.
+ */
+public final class TrustedKey {
+    private final String kid;
+    private final Algorithm algorithm;
+    private final PublicKey publicKey;
+    private final X509Certificate certificate;
+    private final String thumbprint;
+    private final String fingerprint;
+    private final Verifier verifier;
+
+    TrustedKey(String kid, Algorithm algorithm, PublicKey publicKey, X509Certificate certificate, String thumbprint, String fingerprint) {
+        this.kid = kid;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+        this.certificate = certificate;
+        this.thumbprint = thumbprint;
+        this.fingerprint = fingerprint;
+        this.verifier = algorithm.newVerifier(publicKey);
+    }
+
+    public String getKid() {
+        return this.kid;
+    }
+
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    public PublicKey getPublicKey() {
+        return this.publicKey;
+    }
+
+    /**
+     * @return The certificate the key was added with, <code>null</code> if it was
+     *         added as a bare key
+     */
+    public X509Certificate getCertificate() {
+        return this.certificate;
+    }
+
+    /**
+     * @return The RFC 7638 JWK thumbprint (SHA-256, Base64 URL encoded)
+     */
+    public String getThumbprint() {
+        return this.thumbprint;
+    }
+
+    /**
+     * @return Lowercase hex SHA-256 of the DER encoded certificate,
+     *         <code>null</code> if the key was added without one
+     */
+    public String getFingerprint() {
+        return this.fingerprint;
+    }
+
+    /**
+     * @return A {@linkplain Verifier} bound to this key
+     */
+    public Verifier getVerifier() {
+        return this.verifier;
+    }
+}
@@ -0,0 +1,37 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reusable, thread safe verifier bound to a single key, see
+ * {@linkplain Algorithm#newVerifier(java.security.PublicKey)}.
+ */
+public interface Verifier {
+    Algorithm getAlgorithm();
+
+    boolean isSignatureValid(String data, String signature);
+
+    boolean isSignatureValid(byte[] data, String signature);
+
+    boolean isSignatureValid(byte[] data, byte[] signature);
+
+    /**
+     * Verifies the remaining bytes of <code>signature</code> (raw) against the
+     * remaining bytes of each data buffer, all buffers are consumed.
+     */
+    boolean isSignatureValid(ByteBuffer[] data, ByteBuffer signature);
+
+    default boolean isSignatureValid(ByteBuffer data, ByteBuffer signature) {
+        return this.isSignatureValid(new ByteBuffer[] { data }, signature);
+    }
+
+    /**
+     * Verifies the Base64 encoded signature held in
+     * <code>signature[offset, offset + length)</code>.
+     */
+    default boolean isSignatureValid(byte[] data, char[] signature, int offset, int length) {
+        byte[] sig = new byte[Base64Codec.STANDARD.decodedLength(signature, offset, length)];
+        Base64Codec.STANDARD.decode(signature, offset, length, sig, 0);
+        return this.isSignatureValid(data, sig);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.lc.oss.commons.signing;
+
+/**
+ * A single item of a batch verification, see
+ * {@linkplain Algorithms#verifyAll(java.util.List)}.
+ */
+public class VerifyRequest {
+    private final Algorithm algorithm;
+    private final byte[] key;
+    private final byte[] data;
+    private final byte[] signature;
+
+    /**
+     * @param key       The encoded key as accepted by
+     *                  {@linkplain Algorithm#isSignatureValid(byte[], byte[], byte[])}
+     * @param signature The raw (not Base64 encoded) signature
+     */
+    public VerifyRequest(Algorithm algorithm, byte[] key, byte[] data, byte[] signature) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithm is required");
+        }
+        this.algorithm = algorithm;
+        this.key = key;
+        this.data = data;
+        this.signature = signature;
+    }
+
+    public Algorithm getAlgorithm() {
+        return this.algorithm;
+    }
+
+    public byte[] getKey() {
+        return this.key;
+    }
+
+    public byte[] getData() {
+        return this.data;
+    }
+
+    public byte[] getSignature() {
+        return this.signature;
+    }
+}
@@ -0,0 +1,93 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@linkplain Algorithms#warmUp(Set, WarmUpOptions)}.
+ */
+final class WarmUp {
+    static Map<Algorithm, Duration> run(Set<Algorithm> algorithms, WarmUpOptions options) {
+        if (options.getCalibrationIterations() > 0) {
+            ProviderCalibration.run(algorithms, options.getCalibrationIterations());
+        }
+
+        Algorithm[] items = algorithms.toArray(new Algorithm[0]);
+        long[] nanos = new long[items.length];
+        byte[] payload = new byte[options.getPayloadSize()];
+        new SecureRandom().nextBytes(payload);
+
+        Batch.run(items.length, options.getExecutor(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                long start = System.nanoTime();
+                WarmUp.warmUp(items[i], options.getIterations(), payload);
+                nanos[i] = System.nanoTime() - start;
+            }
+        });
+
+        Map<Algorithm, Duration> result = new LinkedHashMap<>();
+        for (int i = 0; i < items.length; i++) {
+            result.put(items[i], Duration.ofNanos(nanos[i]));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void warmUp(Algorithm algorithm, int iterations, byte[] payload) {
+        if (algorithm == null) {
+            throw new IllegalArgumentException("Algorithms cannot contain null entries");
+        }
+
+        if (algorithm instanceof AbstractAlgorithm) {
+            try {
+                ((AbstractAlgorithm) algorithm).prime();
+            } catch (GeneralSecurityException ex) {
+                throw new RuntimeException(String.format("Error warming up %s", algorithm.getId()), ex);
+            }
+        }
+
+        if (iterations == 0) {
+            return;
+        }
+        byte[][] keys = WarmUp.keys(algorithm);
+        if (keys == null) {
+            return;
+        }
+
+        Signer signer = algorithm.newSigner(keys[0]);
+        Verifier verifier = algorithm.newVerifier(keys[1]);
+        for (int i = 0; i < iterations; i++) {
+            String signature = signer.getSignature(payload);
+            boolean valid = verifier.isSignatureValid(payload, signature);
+            valid &= algorithm.isSignatureValid(keys[1], payload, algorithm.getSignature(keys[0], payload));
+            if (!valid) {
+                throw new RuntimeException(String.format("Error warming up %s", algorithm.getId()));
+            }
+        }
+    }
+
+    /*
+     * {private, public} encoded keys, a random secret twice for HMACs. Keys can
+     * only be generated for the built in algorithm types.
+     */
+    static byte[][] keys(Algorithm algorithm) {
+        if (algorithm instanceof HmacAlgorithm) {
+            byte[] secret = new byte[algorithm.getMinBitLength() / 8];
+            new SecureRandom().nextBytes(secret);
+            return new byte[][] { secret, secret };
+        }
+        if (algorithm instanceof AbstractKeyAlgorithm) {
+            KeyPair pair = new KeyGenerator().generate(algorithm);
+            return new byte[][] { pair.getPrivate().getEncoded(), pair.getPublic().getEncoded() };
+        }
+        return null;
+    }
+
+    private WarmUp() {
+    }
+}
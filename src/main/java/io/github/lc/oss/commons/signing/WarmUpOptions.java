@@ -0,0 +1,78 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Options for {@linkplain Algorithms#warmUp(java.util.Set, WarmUpOptions)}. The
+ * defaults only initialize providers and engines, set
+ * {@linkplain #setIterations(int)} to also run synthetic sign/verify
+ * operations.
+ */
+public class WarmUpOptions {
+    private int iterations;
+    private int payloadSize = 256;
+    private int calibrationIterations;
+    private Executor executor = ForkJoinPool.commonPool();
+
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * Number of synthetic sign/verify rounds per algorithm, each one signs and
+     * verifies with both a reusable handle and the encoded key. Keys are generated
+     * once per algorithm, see {@linkplain KeyGenerator}. Default 0.
+     */
+    public void setIterations(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Iterations cannot be negative");
+        }
+        this.iterations = iterations;
+    }
+
+    public int getPayloadSize() {
+        return this.payloadSize;
+    }
+
+    /**
+     * Size in bytes of the synthetic payload. Default 256.
+     */
+    public void setPayloadSize(int payloadSize) {
+        if (payloadSize < 0) {
+            throw new IllegalArgumentException("Payload size cannot be negative");
+        }
+        this.payloadSize = payloadSize;
+    }
+
+    public int getCalibrationIterations() {
+        return this.calibrationIterations;
+    }
+
+    /**
+     * When greater than 0 the fastest provider of each algorithm is pinned before
+     * warming up, see
+     * {@linkplain Algorithms#calibrateProviders(java.util.Set, int)}. Default 0.
+     */
+    public void setCalibrationIterations(int calibrationIterations) {
+        if (calibrationIterations < 0) {
+            throw new IllegalArgumentException("Calibration iterations cannot be negative");
+        }
+        this.calibrationIterations = calibrationIterations;
+    }
+
+    public Executor getExecutor() {
+        return this.executor;
+    }
+
+    /**
+     * Executor the algorithms are warmed up on in parallel. Default the common
+     * fork join pool.
+     */
+    public void setExecutor(Executor executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor is required");
+        }
+        this.executor = executor;
+    }
+}
@@ -1,5 +1,8 @@
 module io.github.lc.oss.commons.signing {
     requires io.github.lc.oss.commons.util;
+    requires jdk.jfr;
 
     exports io.github.lc.oss.commons.signing;
+
+    uses java.security.Provider;
 }
@@ -1,6 +1,8 @@
 package io.github.lc.oss.commons.signing;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
@@ -168,6 +170,63 @@ public class AlgorithmsTest extends AbstractTest {
         }
     }
 
+    @Test
+    public void test_views() {
+        Assertions.assertSame(Algorithms.all(), Algorithms.all());
+        Assertions.assertSame(Algorithms.hmacAlgorithms(), Algorithms.hmacAlgorithms());
+        Assertions.assertSame(Algorithms.keyAlgorithms(), Algorithms.keyAlgorithms());
+        Assertions.assertTrue(Algorithms.all().contains(Algorithms.HS256));
+        Assertions.assertTrue(Algorithms.hmacAlgorithms().contains(Algorithms.HS256));
+        Assertions.assertTrue(Algorithms.keyAlgorithms().contains(Algorithms.RS256));
+
+        final Algorithm hmac = new HmacAlgorithm("views-hmac", "HMAC", 16);
+        final Algorithm key = new RsaAlgorithm("views-rsa", "SHA256withRSA", 2048);
+        Set<Algorithm> before = Algorithms.all();
+        Algorithms.register(hmac);
+        Algorithms.register(key);
+        Assertions.assertFalse(before.contains(hmac));
+        Assertions.assertTrue(Algorithms.hmacAlgorithms().contains(hmac));
+        Assertions.assertTrue(Algorithms.keyAlgorithms().contains(key));
+
+        Assertions.assertSame(hmac, Algorithms.unregister(hmac));
+        Assertions.assertSame(key, Algorithms.unregister(key));
+        Assertions.assertNull(Algorithms.unregister(key));
+        Assertions.assertFalse(Algorithms.all().contains(hmac));
+        Assertions.assertFalse(Algorithms.hmacAlgorithms().contains(hmac));
+        Assertions.assertFalse(Algorithms.keyAlgorithms().contains(key));
+        Assertions.assertEquals(before, Algorithms.all());
+
+        try {
+            Algorithms.all().add(hmac);
+            Assertions.fail("Expected exception");
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_concurrentRegister() throws Exception {
+        List<Algorithm> algorithms = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            algorithms.add(new HmacAlgorithm("concurrent-" + i, "HMAC", 16));
+        }
+
+        try {
+            algorithms.parallelStream().forEach(Algorithms::register);
+            for (Algorithm alg : algorithms) {
+                Assertions.assertSame(alg, Algorithms.get(alg.getId()));
+                Assertions.assertTrue(Algorithms.hmacAlgorithms().contains(alg));
+            }
+        } finally {
+            algorithms.parallelStream().forEach(Algorithms::unregister);
+        }
+
+        for (Algorithm alg : algorithms) {
+            Assertions.assertFalse(Algorithms.has(alg.getId()));
+            Assertions.assertFalse(Algorithms.hmacAlgorithms().contains(alg));
+        }
+    }
+
     @Test
     public void test_registerTwice() {
         Assertions.assertSame(Algorithms.HS256, Algorithms.get(Algorithms.HS256.getId()));
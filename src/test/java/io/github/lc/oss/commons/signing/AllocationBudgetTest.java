@@ -0,0 +1,239 @@
+package io.github.lc.oss.commons.signing;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+/**
+ * Guards the per-operation allocation of the hot paths. Each operation is
+ * warmed up until it is JIT compiled and then measured over many iterations
+ * with <code>com.sun.management.ThreadMXBean#getThreadAllocatedBytes</code>.
+ * Budgets only cover what the JCA itself allocates (noted per test), any
+ * garbage introduced by this library pushes an operation over its budget.
+ */
+public class AllocationBudgetTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+    private static final int WARMUP = 20000;
+    private static final int ITERATIONS = 10000;
+    /*
+     * Public key operations are orders of magnitude slower than an HMAC.
+     */
+    private static final int KEY_WARMUP = 1000;
+    private static final int KEY_ITERATIONS = 200;
+
+    /*
+     * Mac.doFinal(byte[], int) computes into a new array and copies it, 48 bytes
+     * for a 32 byte HMAC.
+     */
+    private static final long PREPARED_BUDGET = 64;
+    /*
+     * Keying a Mac per call: the SecretKeySpec, its copy of the secret and the
+     * provider's key schedule.
+     */
+    private static final long HMAC_BUDGET = 256;
+    /*
+     * The returned String, its backing array and the ASCII array it is built from
+     * on top of the operation itself.
+     */
+    private static final long STRING_BUDGET = 160;
+    /*
+     * Steady state cost of the JDK providers for a Signer/Verifier (the signature
+     * math, BigInteger and curve point temporaries) as measured on Java 17, plus
+     * about 15% headroom. They dwarf what this library allocates, so these only
+     * catch gross regressions such as decoding the key or creating an engine per
+     * operation.
+     */
+    private static final long ES256_SIGN_BUDGET = 26 * 1024;
+    private static final long ES256_VERIFY_BUDGET = 48 * 1024;
+    private static final long ED25519_SIGN_BUDGET = 18 * 1024;
+    private static final long ED25519_VERIFY_BUDGET = 68 * 1024;
+    private static final long RS256_SIGN_BUDGET = 54 * 1024;
+    private static final long RS256_VERIFY_BUDGET = 11 * 1024;
+
+    private static Method allocatedBytes;
+
+    @FunctionalInterface
+    private interface Operation {
+        void run();
+    }
+
+    /*
+     * com.sun.management.ThreadMXBean is looked up reflectively so the test
+     * compiles without a read edge to jdk.management from the patched module.
+     */
+    @BeforeAll
+    public static void init() {
+        Object bean = ManagementFactory.getThreadMXBean();
+        try {
+            Class<?> type = Class.forName("com.sun.management.ThreadMXBean");
+            if (type.isInstance(bean) && (boolean) type.getMethod("isThreadAllocatedMemoryEnabled").invoke(bean)) {
+                AllocationBudgetTest.allocatedBytes = type.getMethod("getThreadAllocatedBytes", long.class);
+            }
+        } catch (ReflectiveOperationException ex) {
+            AllocationBudgetTest.allocatedBytes = null;
+        }
+    }
+
+    @Test
+    public void test_base64() {
+        byte[] src = new byte[32];
+        char[] chars = new char[64];
+        byte[] ascii = new byte[64];
+        byte[] decoded = new byte[64];
+        String text = Base64Codec.STANDARD.encode(src);
+        ByteBuffer heap = ByteBuffer.wrap(src);
+        ByteBuffer direct = ByteBuffer.allocateDirect(64);
+        ByteBuffer out = ByteBuffer.allocate(64);
+
+        this.assertBudget("encode char[]", 0, () -> Base64Codec.STANDARD.encode(src, 0, src.length, chars, 0));
+        this.assertBudget("encode byte[]", 0, () -> Base64Codec.URL.encode(src, 0, src.length, ascii, 0));
+        this.assertBudget("encode ByteBuffer", 0, () -> {
+            heap.clear();
+            direct.clear();
+            Base64Codec.STANDARD.encode(heap, direct);
+        });
+        this.assertBudget("decode String", 0, () -> Base64Codec.STANDARD.decode(text, decoded, 0));
+        this.assertBudget("decode char[]", 0, () -> Base64Codec.STANDARD.decode(chars, 0, text.length(), decoded, 0));
+        this.assertBudget("decode byte[]", 0, () -> Base64Codec.URL.decode(ascii, 0, text.length(), decoded, 0));
+        this.assertBudget("decode ByteBuffer", 0, () -> {
+            direct.position(0).limit(text.length());
+            out.clear();
+            Base64Codec.STANDARD.decode(direct, out);
+        });
+    }
+
+    @Test
+    public void test_hmacAlgorithm() {
+        Algorithm alg = Algorithms.HS256;
+        byte[] data = new byte[256];
+        String sig = alg.getSignature(AllocationBudgetTest.SECRET, data);
+        byte[] raw = Base64Codec.STANDARD.decode(sig);
+        char[] chars = sig.toCharArray();
+        char[] out = new char[64];
+        ByteBuffer in = ByteBuffer.wrap(data);
+        ByteBuffer rawOut = ByteBuffer.allocate(64);
+
+        this.assertBudget("sign char[]", AllocationBudgetTest.HMAC_BUDGET, () -> alg.getSignature(AllocationBudgetTest.SECRET, data, out, 0));
+        this.assertBudget("sign ByteBuffer", AllocationBudgetTest.HMAC_BUDGET + AllocationBudgetTest.PREPARED_BUDGET, () -> {
+            in.clear();
+            rawOut.clear();
+            alg.sign(AllocationBudgetTest.SECRET, in, rawOut);
+        });
+        this.assertBudget("sign String", AllocationBudgetTest.HMAC_BUDGET + AllocationBudgetTest.STRING_BUDGET,
+                () -> alg.getSignature(AllocationBudgetTest.SECRET, data));
+        this.assertBudget("verify byte[]", AllocationBudgetTest.HMAC_BUDGET, () -> alg.isSignatureValid(AllocationBudgetTest.SECRET, data, raw));
+        this.assertBudget("verify String", AllocationBudgetTest.HMAC_BUDGET, () -> alg.isSignatureValid(AllocationBudgetTest.SECRET, data, sig));
+        this.assertBudget("verify char[]", AllocationBudgetTest.HMAC_BUDGET, () -> alg.isSignatureValid(AllocationBudgetTest.SECRET, data, chars, 0, chars.length));
+    }
+
+    @Test
+    public void test_preparedHmac() {
+        PreparedHmac prepared = ((HmacAlgorithm) Algorithms.HS256).prepare(AllocationBudgetTest.SECRET);
+        byte[] data = new byte[256];
+        String sig = prepared.getSignature(data);
+        byte[] raw = Base64Codec.STANDARD.decode(sig);
+        char[] chars = sig.toCharArray();
+        char[] out = new char[64];
+        ByteBuffer[] in = new ByteBuffer[] { ByteBuffer.wrap(data) };
+        ByteBuffer rawOut = ByteBuffer.allocate(64);
+
+        this.assertBudget("sign char[]", AllocationBudgetTest.PREPARED_BUDGET, () -> prepared.getSignature(data, out, 0));
+        this.assertBudget("sign ByteBuffer", AllocationBudgetTest.PREPARED_BUDGET, () -> {
+            in[0].clear();
+            rawOut.clear();
+            prepared.sign(in, rawOut);
+        });
+        this.assertBudget("sign String", AllocationBudgetTest.PREPARED_BUDGET + AllocationBudgetTest.STRING_BUDGET, () -> prepared.getSignature(data));
+        this.assertBudget("verify String", AllocationBudgetTest.PREPARED_BUDGET, () -> prepared.isSignatureValid(data, sig));
+        this.assertBudget("verify char[]", AllocationBudgetTest.PREPARED_BUDGET, () -> prepared.isSignatureValid(data, chars, 0, chars.length));
+        this.assertBudget("verify byte[]", AllocationBudgetTest.PREPARED_BUDGET, () -> prepared.isSignatureValid(data, raw));
+    }
+
+    @Test
+    public void test_keySigner_es256() {
+        this.assertKeyBudgets(Algorithms.ES256, AllocationBudgetTest.ES256_SIGN_BUDGET, AllocationBudgetTest.ES256_VERIFY_BUDGET);
+    }
+
+    @Test
+    public void test_keySigner_ed25519() {
+        this.assertKeyBudgets(Algorithms.ED25519, AllocationBudgetTest.ED25519_SIGN_BUDGET, AllocationBudgetTest.ED25519_VERIFY_BUDGET);
+    }
+
+    @Test
+    public void test_keySigner_rs256() {
+        this.assertKeyBudgets(Algorithms.RS256, AllocationBudgetTest.RS256_SIGN_BUDGET, AllocationBudgetTest.RS256_VERIFY_BUDGET);
+    }
+
+    private void assertKeyBudgets(Algorithm alg, long signBudget, long verifyBudget) {
+        Assumptions.assumeTrue(AllocationBudgetTest.allocatedBytes != null, "Thread allocation accounting is not available");
+
+        KeyPair pair = new KeyGenerator().generate(alg);
+        Signer signer = alg.newSigner(pair.getPrivate());
+        Verifier verifier = alg.newVerifier(pair.getPublic());
+        byte[] data = new byte[256];
+        String sig = signer.getSignature(data);
+        byte[] raw = Base64Codec.STANDARD.decode(sig);
+        char[] chars = sig.toCharArray();
+        char[] out = new char[1024];
+        ByteBuffer[] in = new ByteBuffer[] { ByteBuffer.wrap(data) };
+        ByteBuffer rawOut = ByteBuffer.allocate(1024);
+        ByteBuffer rawSig = ByteBuffer.wrap(raw);
+
+        this.assertKeyBudget(alg.getId() + " sign char[]", signBudget, () -> signer.getSignature(data, out, 0));
+        this.assertKeyBudget(alg.getId() + " sign ByteBuffer", signBudget, () -> {
+            in[0].clear();
+            rawOut.clear();
+            signer.sign(in, rawOut);
+        });
+        this.assertKeyBudget(alg.getId() + " sign String", signBudget + AllocationBudgetTest.STRING_BUDGET, () -> signer.getSignature(data));
+        this.assertKeyBudget(alg.getId() + " verify byte[]", verifyBudget, () -> verifier.isSignatureValid(data, raw));
+        this.assertKeyBudget(alg.getId() + " verify String", verifyBudget, () -> verifier.isSignatureValid(data, sig));
+        this.assertKeyBudget(alg.getId() + " verify char[]", verifyBudget, () -> verifier.isSignatureValid(data, chars, 0, chars.length));
+        this.assertKeyBudget(alg.getId() + " verify ByteBuffer", verifyBudget, () -> {
+            in[0].clear();
+            rawSig.clear();
+            verifier.isSignatureValid(in, rawSig);
+        });
+    }
+
+    private void assertKeyBudget(String name, long budget, Operation operation) {
+        this.assertBudget(name, budget, AllocationBudgetTest.KEY_WARMUP, AllocationBudgetTest.KEY_ITERATIONS, operation);
+    }
+
+    private void assertBudget(String name, long budget, Operation operation) {
+        this.assertBudget(name, budget, AllocationBudgetTest.WARMUP, AllocationBudgetTest.ITERATIONS, operation);
+    }
+
+    private void assertBudget(String name, long budget, int warmup, int iterations, Operation operation) {
+        Assumptions.assumeTrue(AllocationBudgetTest.allocatedBytes != null, "Thread allocation accounting is not available");
+
+        for (int i = 0; i < warmup; i++) {
+            operation.run();
+        }
+        long before = this.allocated();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        long perOperation = (this.allocated() - before) / iterations;
+
+        Assertions.assertTrue(perOperation <= budget, String.format("%s allocated %d bytes per operation, budget is %d", name, perOperation, budget));
+    }
+
+    private long allocated() {
+        try {
+            return (long) AllocationBudgetTest.allocatedBytes.invoke(ManagementFactory.getThreadMXBean(), Thread.currentThread().getId());
+        } catch (ReflectiveOperationException ex) {
+            Assertions.fail("Unexpected exception");
+            return -1;
+        }
+    }
+}
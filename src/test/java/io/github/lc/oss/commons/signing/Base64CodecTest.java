@@ -0,0 +1,246 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class Base64CodecTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_matchesJdk() {
+        Random random = new Random(42);
+        for (int length = 0; length < 70; length++) {
+            byte[] data = new byte[length];
+            random.nextBytes(data);
+            this.check(Base64Codec.STANDARD, Base64.getEncoder(), Base64.getDecoder(), data);
+            this.check(Base64Codec.URL, Base64.getUrlEncoder(), Base64.getUrlDecoder(), data);
+        }
+    }
+
+    @Test
+    public void test_offsets() {
+        byte[] data = new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04, 0x05 };
+        char[] chars = new char[10];
+        Arrays.fill(chars, '*');
+
+        int length = Base64Codec.STANDARD.encode(data, 1, 4, chars, 2);
+        Assertions.assertEquals(6, length);
+        Assertions.assertEquals("**AQIDBA**", new String(chars));
+
+        byte[] decoded = new byte[6];
+        Assertions.assertEquals(4, Base64Codec.STANDARD.decode(chars, 2, 6, decoded, 1));
+        Assertions.assertArrayEquals(new byte[] { 0x00, 0x01, 0x02, 0x03, 0x04, 0x00 }, decoded);
+
+        byte[] ascii = "**AQIDBA==**".getBytes(StandardCharsets.US_ASCII);
+        Assertions.assertEquals(4, Base64Codec.STANDARD.decodedLength(ascii, 2, 8));
+        Assertions.assertEquals(4, Base64Codec.STANDARD.decode(ascii, 2, 8, decoded, 0));
+        Assertions.assertEquals("AQIDBA", Base64Codec.STANDARD.encode(data, 1, 4));
+    }
+
+    @Test
+    public void test_buffers() {
+        byte[] data = new byte[] { (byte) 0xfb, (byte) 0xff, 0x01, 0x02, 0x03 };
+        for (boolean direct : new boolean[] { false, true }) {
+            ByteBuffer src = direct ? ByteBuffer.allocateDirect(data.length) : ByteBuffer.allocate(data.length);
+            src.put(data).flip();
+            ByteBuffer encoded = direct ? ByteBuffer.allocateDirect(16) : ByteBuffer.allocate(16);
+            Assertions.assertEquals(7, Base64Codec.URL.encode(src, encoded));
+            Assertions.assertFalse(src.hasRemaining());
+            encoded.flip();
+            byte[] text = new byte[encoded.remaining()];
+            encoded.duplicate().get(text);
+            Assertions.assertEquals("-_8BAgM", new String(text, StandardCharsets.US_ASCII));
+
+            ByteBuffer decoded = direct ? ByteBuffer.allocateDirect(8) : ByteBuffer.allocate(8);
+            Assertions.assertEquals(5, Base64Codec.URL.decode(encoded, decoded));
+            Assertions.assertFalse(encoded.hasRemaining());
+            decoded.flip();
+            Assertions.assertEquals(ByteBuffer.wrap(data), decoded);
+        }
+
+        ByteBuffer padded = ByteBuffer.wrap("AQI=".getBytes(StandardCharsets.US_ASCII));
+        ByteBuffer out = ByteBuffer.allocate(2);
+        Assertions.assertEquals(2, Base64Codec.STANDARD.decode(padded, out));
+        Assertions.assertFalse(padded.hasRemaining());
+    }
+
+    @Test
+    public void test_errors() {
+        this.assertError("Illegal base64 character 2d", () -> Base64Codec.STANDARD.decode("-A"));
+        this.assertError("Illegal base64 character 2b", () -> Base64Codec.URL.decode("+A"));
+        this.assertError("Illegal base64 character 3d", () -> Base64Codec.STANDARD.decode("A=AA"));
+        this.assertError("Illegal base64 character 100", () -> Base64Codec.STANDARD.decode("\u0100A"));
+        this.assertError("Input byte array has wrong 4-byte ending unit", () -> Base64Codec.STANDARD.decode("AA="));
+        this.assertError("Last unit does not have enough valid bits", () -> Base64Codec.STANDARD.decode("AAAAA"));
+        this.assertError("Last unit does not have enough valid bits",
+                () -> Base64Codec.STANDARD.decode(ByteBuffer.wrap(new byte[] { 'A' }), ByteBuffer.allocate(1)));
+        this.assertError("Output buffer is too small for encoding all input bytes", () -> Base64Codec.STANDARD.encode(new byte[2], 0, 2, new char[2], 0));
+        this.assertError("Output buffer is too small for encoding all input bytes", () -> Base64Codec.STANDARD.encode(new byte[2], 0, 2, new byte[3], 1));
+        this.assertError("Output buffer is too small for encoding all input bytes",
+                () -> Base64Codec.STANDARD.encode(ByteBuffer.allocate(3), ByteBuffer.allocate(3)));
+        this.assertError("Output buffer is too small for decoding all input bytes", () -> Base64Codec.STANDARD.decode("AAAA", new byte[2], 0));
+        this.assertError("Output buffer is too small for decoding all input bytes",
+                () -> Base64Codec.STANDARD.decode(new char[] { 'A', 'A' }, 0, 2, new byte[1], 1));
+        this.assertError("Output buffer is too small for decoding all input bytes",
+                () -> Base64Codec.STANDARD.decode(new byte[] { 'A', 'A' }, 0, 2, new byte[0], 0));
+        this.assertError("Output buffer is too small for decoding all input bytes",
+                () -> Base64Codec.STANDARD.decode(ByteBuffer.wrap(new byte[] { 'A', 'A' }), ByteBuffer.allocate(0)));
+
+        Assertions.assertEquals(0, Base64Codec.STANDARD.decodedLength(""));
+        Assertions.assertEquals(0, Base64Codec.STANDARD.decode("").length);
+    }
+
+    @Test
+    public void test_algorithms() {
+        KeyPair rsa = new KeyGenerator().generate(Algorithms.RS256);
+        KeyPair ed = new KeyGenerator().generate(Algorithms.ED25519);
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+
+        this.checkAlgorithm(Algorithms.HS256, Base64CodecTest.SECRET, Base64CodecTest.SECRET, data);
+        this.checkAlgorithm(Algorithms.HS384, Base64CodecTest.SECRET, Base64CodecTest.SECRET, data);
+        this.checkAlgorithm(Algorithms.RS256, rsa.getPrivate().getEncoded(), rsa.getPublic().getEncoded(), data);
+        this.checkAlgorithm(Algorithms.ED25519, ed.getPrivate().getEncoded(), ed.getPublic().getEncoded(), data);
+
+        Algorithm custom = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                return Arrays.equals(this.fromBase64(this.getSignature(secret, data)), signature);
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                byte[] sig = Arrays.copyOf(secret, secret.length + data.length);
+                System.arraycopy(data, 0, sig, secret.length, data.length);
+                return this.toBase64(sig);
+            }
+        };
+        this.checkAlgorithm(custom, new byte[] { 0x01, 0x02 }, new byte[] { 0x01, 0x02 }, data);
+    }
+
+    @Test
+    public void test_algorithms_errors() {
+        KeyPair rsa = new KeyGenerator().generate(Algorithms.RS256);
+        byte[] data = new byte[] { 0x00 };
+
+        try {
+            Algorithms.RS256.getSignature(rsa.getPrivate().getEncoded(), data, new char[10], 0);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error signing data", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.getSignature(Base64CodecTest.SECRET, data, new char[10], 0);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.newSigner(Base64CodecTest.SECRET).getSignature(data, new char[10], 0);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.getSignature(new byte[4], data, new char[64], 0);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.isSignatureValid(new byte[] { 0x01 }, data, "AAAA");
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+
+        try {
+            Algorithms.RS256.isSignatureValid(rsa.getPublic().getEncoded(), data, "-");
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Illegal base64 character 2d", ex.getMessage());
+        }
+
+        // oversized signatures do not fit the pooled buffers
+        char[] big = new char[12000];
+        Arrays.fill(big, 'A');
+        Assertions.assertFalse(Algorithms.RS256.isSignatureValid(rsa.getPublic().getEncoded(), data, big, 0, big.length));
+        Assertions.assertFalse(Algorithms.HS256.isSignatureValid(Base64CodecTest.SECRET, data, new String(big)));
+    }
+
+    private void checkAlgorithm(Algorithm algorithm, byte[] privateKey, byte[] publicKey, byte[] data) {
+        String expected = algorithm.getSignature(privateKey, data);
+
+        char[] out = new char[expected.length() + 4];
+        int length = algorithm.getSignature(privateKey, data, out, 2);
+        Assertions.assertEquals(expected.length(), length);
+        if (algorithm != Algorithms.RS256 && algorithm != Algorithms.ED25519) {
+            // deterministic
+            Assertions.assertEquals(expected, new String(out, 2, length));
+        }
+        Assertions.assertTrue(algorithm.isSignatureValid(publicKey, data, out, 2, length));
+        Assertions.assertTrue(algorithm.isSignatureValid(publicKey, data, new String(out, 2, length)));
+        Assertions.assertTrue(algorithm.isSignatureValid(publicKey, data, expected + (expected.length() % 4 == 3 ? "=" : "")));
+        Assertions.assertFalse(algorithm.isSignatureValid(publicKey, new byte[] { 0x7f }, out, 2, length));
+
+        Signer signer = algorithm.newSigner(privateKey);
+        Verifier verifier = algorithm.newVerifier(publicKey);
+        Arrays.fill(out, '\0');
+        length = signer.getSignature(data, out, 1);
+        Assertions.assertEquals(expected.length(), length);
+        Assertions.assertTrue(verifier.isSignatureValid(data, out, 1, length));
+        Assertions.assertTrue(verifier.isSignatureValid(data, new String(out, 1, length)));
+        Assertions.assertFalse(verifier.isSignatureValid(new byte[] { 0x7f }, new String(out, 1, length)));
+    }
+
+    private void check(Base64Codec codec, Base64.Encoder encoder, Base64.Decoder decoder, byte[] data) {
+        String expected = encoder.withoutPadding().encodeToString(data);
+        Assertions.assertEquals(expected, codec.encode(data));
+        Assertions.assertEquals(expected.length(), codec.encodedLength(data.length));
+
+        char[] chars = new char[expected.length()];
+        Assertions.assertEquals(chars.length, codec.encode(data, 0, data.length, chars, 0));
+        Assertions.assertEquals(expected, new String(chars));
+
+        byte[] ascii = new byte[expected.length()];
+        Assertions.assertEquals(ascii.length, codec.encode(data, 0, data.length, ascii, 0));
+        Assertions.assertEquals(expected, new String(ascii, StandardCharsets.US_ASCII));
+
+        String padded = encoder.encodeToString(data);
+        for (String text : new String[] { expected, padded }) {
+            Assertions.assertArrayEquals(decoder.decode(text), codec.decode(text));
+            Assertions.assertEquals(data.length, codec.decodedLength(text));
+            Assertions.assertEquals(data.length, codec.decodedLength(text.toCharArray(), 0, text.length()));
+
+            byte[] out = new byte[data.length];
+            Assertions.assertEquals(data.length, codec.decode(text.toCharArray(), 0, text.length(), out, 0));
+            Assertions.assertArrayEquals(data, out);
+
+            byte[] textBytes = text.getBytes(StandardCharsets.US_ASCII);
+            out = new byte[data.length];
+            Assertions.assertEquals(data.length, codec.decode(textBytes, 0, textBytes.length, out, 0));
+            Assertions.assertArrayEquals(data, out);
+        }
+    }
+
+    private void assertError(String message, Runnable runnable) {
+        try {
+            runnable.run();
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals(message, ex.getMessage());
+        }
+    }
+}
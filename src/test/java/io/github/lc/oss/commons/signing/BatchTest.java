@@ -0,0 +1,297 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class BatchTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_verifyAll() {
+        KeyGenerator generator = new KeyGenerator();
+        KeyPair rsa = generator.generate(Algorithms.RS256);
+        KeyPair ed = generator.generate(Algorithms.ED25519);
+
+        List<VerifyRequest> requests = new ArrayList<>();
+        BitSet expected = new BitSet();
+        for (int i = 0; i < 200; i++) {
+            byte[] data = String.valueOf(i).getBytes(StandardCharsets.UTF_8);
+            boolean valid = i % 3 != 0;
+
+            Algorithm alg;
+            byte[] signingKey;
+            byte[] verifyKey;
+            switch (i % 3) {
+                case 0:
+                    alg = Algorithms.HS256;
+                    signingKey = BatchTest.SECRET;
+                    verifyKey = BatchTest.SECRET.clone();
+                    break;
+                case 1:
+                    alg = Algorithms.RS256;
+                    signingKey = rsa.getPrivate().getEncoded();
+                    verifyKey = rsa.getPublic().getEncoded();
+                    break;
+                default:
+                    alg = Algorithms.ED25519;
+                    signingKey = ed.getPrivate().getEncoded();
+                    verifyKey = ed.getPublic().getEncoded();
+                    break;
+            }
+
+            byte[] sig = java.util.Base64.getDecoder().decode(alg.getSignature(signingKey, data));
+            if (i % 3 == 0 && i % 2 == 0) {
+                // tamper with some of the HMACs
+                sig[0] ^= 0x01;
+            } else if (i % 3 == 0) {
+                valid = true;
+            }
+
+            requests.add(new VerifyRequest(alg, verifyKey, data, sig));
+            if (valid) {
+                expected.set(i);
+            }
+        }
+
+        Assertions.assertEquals(expected, Algorithms.verifyAll(requests));
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assertions.assertEquals(expected, Algorithms.verifyAll(requests, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void test_verifyAll_badKeys() {
+        byte[] data = new byte[] { 0x00 };
+        byte[] sig = java.util.Base64.getDecoder().decode(Algorithms.HS256.getSignature(BatchTest.SECRET, data));
+
+        List<VerifyRequest> requests = Arrays.asList( //
+                new VerifyRequest(Algorithms.HS256, BatchTest.SECRET, data, sig), //
+                new VerifyRequest(Algorithms.RS256, new byte[] { 0x7f }, data, sig), //
+                new VerifyRequest(Algorithms.HS256, new byte[] { 0x01 }, data, sig), //
+                new VerifyRequest(Algorithms.HS256, null, data, sig), //
+                new VerifyRequest(Algorithms.HS256, BatchTest.SECRET, data, sig));
+
+        BitSet result = Algorithms.verifyAll(requests);
+        Assertions.assertEquals(2, result.cardinality());
+        Assertions.assertTrue(result.get(0));
+        Assertions.assertTrue(result.get(4));
+    }
+
+    @Test
+    public void test_verifyAll_customAlgorithm() {
+        Algorithm alg = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                if (data == null) {
+                    throw new RuntimeException("boom");
+                }
+                return Arrays.equals(data, signature);
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                return null;
+            }
+        };
+
+        List<VerifyRequest> requests = Arrays.asList( //
+                new VerifyRequest(alg, null, new byte[] { 0x01 }, new byte[] { 0x01 }), //
+                new VerifyRequest(alg, null, new byte[] { 0x01 }, new byte[] { 0x02 }), //
+                new VerifyRequest(alg, null, null, new byte[] { 0x02 }));
+
+        BitSet result = Algorithms.verifyAll(requests);
+        Assertions.assertEquals(1, result.cardinality());
+        Assertions.assertTrue(result.get(0));
+    }
+
+    @Test
+    public void test_verifyAll_empty() {
+        Assertions.assertTrue(Algorithms.verifyAll(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void test_verifyAll_errors() {
+        try {
+            new VerifyRequest(null, null, null, null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithm is required", ex.getMessage());
+        }
+
+        try {
+            Algorithms.verifyAll(Arrays.asList((VerifyRequest) null));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Requests cannot contain null entries", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_newVerifier() {
+        KeyPair pair = new KeyGenerator().generate(Algorithms.ES256);
+        byte[] data = new byte[] { 0x00, 0x01 };
+        String sig = Algorithms.ES256.getSignature(pair.getPrivate().getEncoded(), data);
+
+        Verifier verifier = Algorithms.ES256.newVerifier(pair.getPublic().getEncoded());
+        Assertions.assertTrue(verifier.isSignatureValid(data, sig));
+
+        try {
+            Algorithms.ES256.newVerifier(new byte[] { 0x7f });
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error validating data", ex.getMessage());
+        }
+
+        Verifier hmac = Algorithms.HS256.newVerifier(BatchTest.SECRET);
+        Assertions.assertTrue(hmac.isSignatureValid(data, Algorithms.HS256.getSignature(BatchTest.SECRET, data)));
+    }
+
+    @Test
+    public void test_delegatingVerifier() {
+        Algorithm alg = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                return Arrays.equals(secret, signature);
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                return null;
+            }
+        };
+
+        byte[] secret = new byte[] { 0x01 };
+        Verifier verifier = alg.newVerifier(secret);
+        secret[0] = 0x02;
+
+        Assertions.assertSame(alg, verifier.getAlgorithm());
+        Assertions.assertTrue(verifier.isSignatureValid(new byte[0], new byte[] { 0x01 }));
+        Assertions.assertTrue(verifier.isSignatureValid(new byte[0], "AQ"));
+        Assertions.assertTrue(verifier.isSignatureValid("", "AQ"));
+        Assertions.assertTrue(verifier.isSignatureValid(java.nio.ByteBuffer.allocate(0), java.nio.ByteBuffer.wrap(new byte[] { 0x01 })));
+        Assertions.assertFalse(verifier.isSignatureValid(new byte[0], new byte[] { 0x02 }));
+        Assertions.assertFalse(alg.newVerifier((byte[]) null).isSignatureValid(new byte[0], new byte[] { 0x02 }));
+    }
+
+    @Test
+    public void test_signAll() {
+        KeyPair rsa = new KeyGenerator().generate(Algorithms.RS256);
+        List<byte[]> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add(String.valueOf(i).getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<String> signatures = Algorithms.signAll(Algorithms.RS256, rsa.getPrivate().getEncoded(), data);
+        Assertions.assertEquals(data.size(), signatures.size());
+        for (int i = 0; i < data.size(); i++) {
+            Assertions.assertTrue(Algorithms.RS256.isSignatureValid(rsa.getPublic().getEncoded(), data.get(i), signatures.get(i)));
+        }
+
+        signatures = Algorithms.signAll(Algorithms.HS256, BatchTest.SECRET, data.stream());
+        for (int i = 0; i < data.size(); i++) {
+            Assertions.assertEquals(Algorithms.HS256.getSignature(BatchTest.SECRET, data.get(i)), signatures.get(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Assertions.assertEquals(signatures, Algorithms.signAll(Algorithms.HS256, BatchTest.SECRET, data, executor));
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertTrue(Algorithms.signAll(Algorithms.HS256, BatchTest.SECRET, Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void test_signAll_customAlgorithm() {
+        Algorithm alg = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                return false;
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                byte[] sig = Arrays.copyOf(secret, secret.length + data.length);
+                System.arraycopy(data, 0, sig, secret.length, data.length);
+                return this.toBase64(sig);
+            }
+        };
+
+        byte[] secret = new byte[] { 0x01 };
+        Signer signer = alg.newSigner(secret);
+        secret[0] = 0x02;
+        Assertions.assertSame(alg, signer.getAlgorithm());
+        Assertions.assertEquals("AQA", signer.getSignature(new byte[] { 0x00 }));
+        Assertions.assertEquals("AWE", signer.getSignature("a"));
+        java.nio.ByteBuffer out = java.nio.ByteBuffer.allocate(16);
+        Assertions.assertEquals(2, signer.sign(java.nio.ByteBuffer.wrap(new byte[] { 0x00 }), out));
+
+        Assertions.assertEquals(Arrays.asList("AgA", "AgE"), Algorithms.signAll(alg, secret, Arrays.asList(new byte[] { 0x00 }, new byte[] { 0x01 })));
+    }
+
+    @Test
+    public void test_signAll_errors() {
+        try {
+            Algorithms.signAll(null, BatchTest.SECRET, Collections.emptyList());
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithm is required", ex.getMessage());
+        }
+
+        try {
+            Algorithms.signAll(Algorithms.HS256, BatchTest.SECRET, Arrays.asList(new byte[0], null));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Data cannot contain null entries", ex.getMessage());
+        }
+
+        try {
+            Algorithms.signAll(Algorithms.HS256, new byte[] { 0x01 }, Collections.emptyList());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+
+        try {
+            Algorithms.signAll(Algorithms.RS256, new byte[] { 0x7f }, Collections.emptyList());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error signing data", ex.getMessage());
+        }
+
+        Algorithm alg = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                return false;
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                throw new RuntimeException("boom");
+            }
+        };
+        try {
+            Algorithms.signAll(alg, null, Arrays.asList(new byte[0]));
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("boom", ex.getMessage());
+        }
+    }
+}
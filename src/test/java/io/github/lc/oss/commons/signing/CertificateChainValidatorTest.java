@@ -0,0 +1,217 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.ByteArrayInputStream;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+import io.github.lc.oss.commons.util.IoTools;
+
+public class CertificateChainValidatorTest extends AbstractTest {
+    private X509Certificate load(String path) throws Exception {
+        CertificateFactory fac = CertificateFactory.getInstance("X.509");
+        return (X509Certificate) fac.generateCertificate(new ByteArrayInputStream(IoTools.readFile(path)));
+    }
+
+    private List<X509Certificate> chain() throws Exception {
+        List<X509Certificate> chain = new ArrayList<>();
+        CertificateFactory fac = CertificateFactory.getInstance("X.509");
+        for (PemBlock block : PemReader.readAll(new String(IoTools.readFile("src/test/resources/junit_chain.pem")))) {
+            chain.add((X509Certificate) fac.generateCertificate(new ByteArrayInputStream(block.getData())));
+        }
+        return chain;
+    }
+
+    private Clock at(Instant instant) {
+        return Clock.fixed(instant, ZoneOffset.UTC);
+    }
+
+    @Test
+    public void test_validate() throws Exception {
+        List<X509Certificate> chain = this.chain();
+        X509Certificate leaf = chain.get(0);
+        CertificateChainValidator validator = new CertificateChainValidator(Set.of(this.load("src/test/resources/junit_root_ca.cer")));
+
+        Assertions.assertEquals(leaf.getPublicKey(), validator.validate(chain));
+        Assertions.assertEquals(1, validator.size());
+        Assertions.assertTrue(validator.isValid(chain));
+        Assertions.assertEquals(1, validator.size());
+
+        // without the trust anchor
+        Assertions.assertEquals(leaf.getPublicKey(), validator.validate(Collections.singletonList(leaf)));
+        Assertions.assertEquals(2, validator.size());
+
+        Assertions.assertEquals(leaf.getPublicKey(), Util.loadPublicKey("src/test/resources/junit_chain.pem", validator));
+        Assertions.assertEquals(leaf.getPublicKey(),
+                Util.loadPublicKeyFromData(new String(IoTools.readFile("src/test/resources/junit_chain.pem")), validator));
+        Assertions.assertEquals(2, validator.size());
+    }
+
+    @Test
+    public void test_validate_cached() throws Exception {
+        List<X509Certificate> chain = this.chain();
+        X509Certificate leaf = chain.get(0);
+        Set<X509Certificate> anchors = Set.of(this.load("src/test/resources/junit_root_ca.cer"));
+        Instant beforeLeaf = leaf.getNotBefore().toInstant().minus(Duration.ofDays(1));
+        Instant afterLeaf = leaf.getNotAfter().toInstant().plusSeconds(1);
+
+        CertificateChainValidator validator = new CertificateChainValidator(anchors);
+        Assertions.assertEquals(leaf.getPublicKey(), validator.validate(chain));
+
+        // a fresh validation at this time fails, the cached result is used instead
+        validator.setClock(this.at(beforeLeaf));
+        Assertions.assertEquals(leaf.getPublicKey(), validator.validate(chain));
+        CertificateChainValidator uncached = new CertificateChainValidator(anchors);
+        uncached.setClock(this.at(beforeLeaf));
+        Assertions.assertFalse(uncached.isValid(chain));
+
+        // until a revocation refresh
+        validator.refreshRevocation();
+        Assertions.assertEquals(0, validator.size());
+        try {
+            validator.validate(chain);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Certificate chain is not valid", ex.getMessage());
+        }
+
+        validator.setClock(Clock.systemUTC());
+        Assertions.assertTrue(validator.isValid(chain));
+        validator.refreshRevocation(Collections.emptyList());
+        Assertions.assertEquals(0, validator.size());
+        Assertions.assertTrue(validator.isValid(chain));
+
+        // or the earliest notAfter
+        validator.setClock(this.at(afterLeaf));
+        Assertions.assertFalse(validator.isValid(chain));
+    }
+
+    @Test
+    public void test_validate_invalid() throws Exception {
+        List<X509Certificate> chain = this.chain();
+        CertificateChainValidator validator = new CertificateChainValidator(Set.of(this.load("src/test/resources/junit_other_ca.cer")));
+        try {
+            validator.validate(chain);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Certificate chain is not valid", ex.getMessage());
+        }
+        Assertions.assertEquals(0, validator.size());
+
+        try {
+            Util.loadPublicKey("src/test/resources/junit_chain.pem", validator);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading public key", ex.getMessage());
+            Assertions.assertEquals("Certificate chain is not valid", ex.getCause().getMessage());
+        }
+
+        // revocation checking without any revocation data
+        Set<X509Certificate> anchors = Set.of(this.load("src/test/resources/junit_root_ca.cer"));
+        Assertions.assertFalse(new CertificateChainValidator(anchors, true, 10).isValid(chain));
+
+        // reversed chain
+        List<X509Certificate> reversed = new ArrayList<>(chain);
+        Collections.reverse(reversed);
+        Assertions.assertFalse(new CertificateChainValidator(anchors).isValid(reversed));
+    }
+
+    @Test
+    public void test_maxEntries() throws Exception {
+        List<X509Certificate> chain = this.chain();
+        Set<X509Certificate> anchors = Set.of(this.load("src/test/resources/junit_root_ca.cer"));
+
+        CertificateChainValidator validator = new CertificateChainValidator(anchors, false, 0);
+        Assertions.assertTrue(validator.isValid(chain));
+        Assertions.assertEquals(0, validator.size());
+
+        validator = new CertificateChainValidator(anchors, false, 1);
+        Assertions.assertTrue(validator.isValid(chain));
+        Assertions.assertTrue(validator.isValid(chain.subList(0, 1)));
+        Assertions.assertEquals(1, validator.size());
+
+        // stale results are evicted to make room
+        validator.refreshRevocation();
+        Assertions.assertTrue(validator.isValid(chain));
+        Assertions.assertEquals(1, validator.size());
+    }
+
+    @Test
+    public void test_fingerprint() throws Exception {
+        List<X509Certificate> chain = this.chain();
+        String fingerprint = CertificateChainValidator.fingerprint(chain);
+        Assertions.assertEquals(64, fingerprint.length());
+        Assertions.assertEquals(fingerprint, CertificateChainValidator.fingerprint(this.chain()));
+        Assertions.assertNotEquals(fingerprint, CertificateChainValidator.fingerprint(chain.subList(0, 1)));
+    }
+
+    @Test
+    public void test_errors() throws Exception {
+        X509Certificate root = this.load("src/test/resources/junit_root_ca.cer");
+
+        try {
+            new CertificateChainValidator(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Trust anchors are required", ex.getMessage());
+        }
+
+        try {
+            new CertificateChainValidator(new HashSet<>());
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Trust anchors are required", ex.getMessage());
+        }
+
+        try {
+            new CertificateChainValidator(new HashSet<>(Arrays.asList(root, null)));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Trust anchors cannot contain null entries", ex.getMessage());
+        }
+
+        try {
+            new CertificateChainValidator(Set.of(root), false, -1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Max entries cannot be negative", ex.getMessage());
+        }
+
+        CertificateChainValidator validator = new CertificateChainValidator(Set.of(root));
+        try {
+            validator.validate(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Chain is required", ex.getMessage());
+        }
+
+        try {
+            validator.validate(Collections.emptyList());
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Chain is required", ex.getMessage());
+        }
+
+        try {
+            validator.validate(Arrays.asList(root, null));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Chain cannot contain null entries", ex.getMessage());
+        }
+
+        Assertions.assertFalse(validator.isValid(null));
+    }
+}
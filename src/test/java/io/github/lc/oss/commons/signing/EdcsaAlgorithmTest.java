@@ -133,7 +133,7 @@ public class EdcsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_getSignature_badKey() {
         try {
-            Algorithms.ES384.getSignature(new byte[] { 0x7f }, null);
+            Algorithms.ES384.getSignature(new byte[] { 0x7f }, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error signing data", ex.getMessage());
@@ -143,7 +143,7 @@ public class EdcsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_isSignatureValid_badKey() {
         try {
-            Algorithms.ES512.isSignatureValid(new byte[] { 0x7f }, null, (byte[]) null);
+            Algorithms.ES512.isSignatureValid(new byte[] { 0x7f }, (byte[]) null, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error validating data", ex.getMessage());
@@ -99,7 +99,7 @@ public class EddsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_getSignature_badKey() {
         try {
-            Algorithms.ED448.getSignature(new byte[] { 0x7f }, null);
+            Algorithms.ED448.getSignature(new byte[] { 0x7f }, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error signing data", ex.getMessage());
@@ -109,7 +109,7 @@ public class EddsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_isSignatureValid_badKey() {
         try {
-            Algorithms.ED448.isSignatureValid(new byte[] { 0x7f }, null, (byte[]) null);
+            Algorithms.ED448.isSignatureValid(new byte[] { 0x7f }, (byte[]) null, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error validating data", ex.getMessage());
@@ -0,0 +1,81 @@
+package io.github.lc.oss.commons.signing;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class EnginePoolTest extends AbstractTest {
+    @Test
+    public void test_capacity() {
+        try {
+            new EnginePool<>(() -> new Object(), 0);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Capacity must be at least 1", ex.getMessage());
+        }
+
+        Assertions.assertEquals(1, new EnginePool<>(() -> new Object(), 1).capacity());
+        Assertions.assertEquals(4, new EnginePool<>(() -> new Object(), 3).capacity());
+        Assertions.assertEquals(8, new EnginePool<>(() -> new Object(), 8).capacity());
+        Assertions.assertTrue(new EnginePool<>(() -> new Object()).capacity() >= Runtime.getRuntime().availableProcessors());
+    }
+
+    @Test
+    public void test_reuse() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        EnginePool<Object> pool = new EnginePool<>(() -> {
+            created.incrementAndGet();
+            return new Object();
+        }, 2);
+
+        Object a = pool.acquire();
+        pool.release(a);
+        Assertions.assertSame(a, pool.acquire());
+        Assertions.assertEquals(1, created.get());
+
+        Object b = pool.acquire();
+        Assertions.assertNotSame(a, b);
+        Assertions.assertEquals(2, created.get());
+
+        pool.release(a);
+        pool.release(b);
+        pool.release(null);
+        // pool is full, this one is dropped
+        pool.release(new Object());
+
+        Object x = pool.acquire();
+        Object y = pool.acquire();
+        Assertions.assertTrue((x == a && y == b) || (x == b && y == a));
+        Assertions.assertEquals(2, created.get());
+
+        pool.release(x);
+        pool.clear();
+        Assertions.assertNotSame(x, pool.acquire());
+        Assertions.assertEquals(3, created.get());
+    }
+
+    @Test
+    public void test_concurrent() throws Exception {
+        Thread[] threads = new Thread[8];
+        AtomicInteger errors = new AtomicInteger();
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 200; j++) {
+                    String sig = Algorithms.HS256.getSignature("At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(),
+                            new byte[] { 0x00, 0x01, 0x02 });
+                    if (!"WDerFNu1CUlHD+/YzSx+XN1V9h/DoQLbuAg8vEQCdMM".equals(sig)) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        Assertions.assertEquals(0, errors.get());
+    }
+}
@@ -1,5 +1,6 @@
 package io.github.lc.oss.commons.signing;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 import org.junit.jupiter.api.Assertions;
@@ -88,4 +89,32 @@ public class HmacAlgorithmTest extends AbstractTest {
         boolean result = alg.isSignatureValid(secreStr, data, sig);
         Assertions.assertTrue(result);
     }
+
+    @Test
+    public void test_isEqual_range() {
+        byte[] actual = new byte[] { 0x01, 0x02, 0x03 };
+
+        Assertions.assertTrue(HmacAlgorithm.isEqual(actual, new byte[] { 0x01, 0x02, 0x03, 0x7f }, 3));
+        Assertions.assertFalse(HmacAlgorithm.isEqual(actual, new byte[] { 0x01, 0x02, 0x04, 0x7f }, 3));
+        Assertions.assertFalse(HmacAlgorithm.isEqual(actual, new byte[] { 0x01, 0x02, 0x03, 0x7f }, 2));
+        Assertions.assertFalse(HmacAlgorithm.isEqual(actual, new byte[] { 0x01, 0x02, 0x03, 0x7f }, 4));
+    }
+
+    @Test
+    public void test_isEqual_byteBuffer() {
+        byte[] actual = new byte[] { 0x01, 0x02, 0x03 };
+
+        ByteBuffer expected = ByteBuffer.wrap(new byte[] { 0x7f, 0x01, 0x02, 0x03 });
+        expected.position(1);
+        Assertions.assertTrue(HmacAlgorithm.isEqual(actual, expected));
+        Assertions.assertEquals(0, expected.remaining());
+
+        expected = ByteBuffer.wrap(new byte[] { 0x01, 0x02, 0x04 });
+        Assertions.assertFalse(HmacAlgorithm.isEqual(actual, expected));
+        Assertions.assertEquals(0, expected.remaining());
+
+        expected = ByteBuffer.wrap(new byte[] { 0x01, 0x02 });
+        Assertions.assertFalse(HmacAlgorithm.isEqual(actual, expected));
+        Assertions.assertEquals(0, expected.remaining());
+    }
 }
@@ -0,0 +1,157 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class InMemoryMetricsTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_defaults() {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        Assertions.assertSame(SigningMetrics.NOOP, alg.getMetrics());
+        Assertions.assertEquals(0, alg.startTimer());
+
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        alg.setMetrics(metrics);
+        Assertions.assertSame(metrics, alg.getMetrics());
+        Assertions.assertNotEquals(0, alg.startTimer());
+
+        alg.setMetrics(null);
+        Assertions.assertSame(SigningMetrics.NOOP, alg.getMetrics());
+
+        alg.getSignature(InMemoryMetricsTest.SECRET, new byte[] { 0x01 });
+        Assertions.assertTrue(metrics.getAll().isEmpty());
+
+        // enabling metrics during an operation does not record a bogus latency
+        alg.setMetrics(metrics);
+        Assertions.assertEquals(7, alg.signed(0, 7));
+        Assertions.assertTrue(alg.verified(0, true));
+        Assertions.assertTrue(metrics.getAll().isEmpty());
+    }
+
+    @Test
+    public void test_hmac() {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        alg.setMetrics(metrics);
+        byte[] data = new byte[] { 0x01, 0x02 };
+
+        String sig = alg.getSignature(InMemoryMetricsTest.SECRET, data);
+        alg.getSignature(InMemoryMetricsTest.SECRET, data, new char[64], 0);
+        alg.sign(InMemoryMetricsTest.SECRET, ByteBuffer.wrap(data), ByteBuffer.allocate(64));
+        Assertions.assertTrue(alg.isSignatureValid(InMemoryMetricsTest.SECRET, data, sig));
+        Assertions.assertFalse(alg.isSignatureValid(InMemoryMetricsTest.SECRET, new byte[0], sig));
+        Assertions.assertTrue(alg.isSignatureValid(InMemoryMetricsTest.SECRET, data, sig.toCharArray(), 0, sig.length()));
+
+        PreparedHmac prepared = alg.prepare(InMemoryMetricsTest.SECRET);
+        Assertions.assertEquals(sig, prepared.getSignature(data));
+        Assertions.assertFalse(prepared.isSignatureValid(data, new byte[32]));
+
+        AlgorithmMetrics m = metrics.get("HS256");
+        Assertions.assertSame(m, metrics.getAll().get("HS256"));
+        Assertions.assertEquals("HS256", m.getAlgorithmId());
+        Assertions.assertEquals(4, m.getSigns());
+        Assertions.assertEquals(4, m.getVerifies());
+        Assertions.assertEquals(2, m.getVerifyFailures());
+        Assertions.assertEquals(0, m.getErrors());
+        Assertions.assertEquals(4, m.getSignLatency().getCount());
+        Assertions.assertEquals(4, m.getVerifyLatency().getCount());
+        Assertions.assertTrue(m.getSignLatencyP50() > 0);
+        Assertions.assertTrue(m.getSignLatencyP99() >= m.getSignLatencyP50());
+        Assertions.assertTrue(m.getSignLatencyMax() >= m.getSignLatencyP99());
+        Assertions.assertTrue(m.getSignLatencyMean() > 0);
+        Assertions.assertTrue(m.getVerifyLatencyP50() > 0);
+        Assertions.assertTrue(m.getVerifyLatencyP99() >= m.getVerifyLatencyP50());
+        Assertions.assertTrue(m.getVerifyLatencyMax() >= m.getVerifyLatencyP99());
+        Assertions.assertTrue(m.getVerifyLatencyMean() > 0);
+
+        metrics.reset();
+        Assertions.assertEquals(0, m.getSigns());
+        Assertions.assertEquals(0, m.getVerifies());
+        Assertions.assertEquals(0, m.getVerifyFailures());
+        Assertions.assertEquals(0, m.getSignLatency().getCount());
+        Assertions.assertEquals(0, m.getVerifyLatencyMax());
+    }
+
+    @Test
+    public void test_keyAlgorithm() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        alg.setMetrics(metrics);
+        KeyPair pair = new KeyGenerator().generate(Algorithms.RS256);
+        byte[] privateKey = pair.getPrivate().getEncoded();
+        byte[] publicKey = pair.getPublic().getEncoded();
+        byte[] data = new byte[] { 0x01, 0x02 };
+
+        String sig = alg.getSignature(privateKey, data);
+        Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig));
+        Assertions.assertFalse(alg.isSignatureValid(publicKey, new byte[0], sig));
+        Assertions.assertFalse(alg.isSignatureValid(publicKey, data, new byte[] { 0x01 }));
+        Assertions.assertTrue(alg.newVerifier(pair.getPublic()).isSignatureValid(data, sig));
+        alg.newSigner(pair.getPrivate()).getSignature(data);
+
+        try {
+            alg.getSignature(new byte[] { 0x01 }, data);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error signing data", ex.getMessage());
+        }
+
+        AlgorithmMetrics m = metrics.get("RS256");
+        Assertions.assertEquals(2, m.getSigns());
+        Assertions.assertEquals(4, m.getVerifies());
+        Assertions.assertEquals(2, m.getVerifyFailures());
+        Assertions.assertEquals(1, m.getErrors());
+        Assertions.assertEquals(0, m.getKeyCacheHitRate());
+    }
+
+    @Test
+    public void test_keyCache() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        alg.setMetrics(metrics);
+        alg.setKeyCache(new KeyCache(10));
+        KeyPair pair = new KeyGenerator().generate(Algorithms.RS256);
+        byte[] privateKey = pair.getPrivate().getEncoded();
+        byte[] publicKey = pair.getPublic().getEncoded();
+        byte[] data = new byte[] { 0x01, 0x02 };
+
+        String sig = alg.getSignature(privateKey, data);
+        alg.getSignature(privateKey, data);
+        alg.getSignature(privateKey, data);
+        Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig));
+
+        AlgorithmMetrics m = metrics.get("RS256");
+        Assertions.assertEquals(2, m.getKeyCacheHits());
+        Assertions.assertEquals(2, m.getKeyCacheMisses());
+        Assertions.assertEquals(0.5, m.getKeyCacheHitRate());
+
+        m.reset();
+        Assertions.assertEquals(0, m.getKeyCacheHits());
+        Assertions.assertEquals(0, m.getKeyCacheMisses());
+    }
+
+    @Test
+    public void test_sharedBetweenAlgorithms() {
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        HmacAlgorithm hs256 = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        HmacAlgorithm hs384 = new HmacAlgorithm("HS384", "HmacSHA384", 256);
+        hs256.setMetrics(metrics);
+        hs384.setMetrics(metrics);
+
+        hs256.getSignature(InMemoryMetricsTest.SECRET, new byte[0]);
+        hs384.getSignature(InMemoryMetricsTest.SECRET, new byte[0]);
+        hs384.getSignature(InMemoryMetricsTest.SECRET, new byte[0]);
+
+        Assertions.assertEquals(2, metrics.getAll().size());
+        Assertions.assertEquals(1, metrics.get("HS256").getSigns());
+        Assertions.assertEquals(2, metrics.get("HS384").getSigns());
+    }
+}
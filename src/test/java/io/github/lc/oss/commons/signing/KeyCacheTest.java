@@ -0,0 +1,237 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.FileInputStream;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class KeyCacheTest extends AbstractTest {
+    @Test
+    public void test_constructorErrors() {
+        try {
+            new KeyCache(0);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Maximum size must be at least 1", ex.getMessage());
+        }
+
+        try {
+            new KeyCache(1, -1, TimeUnit.SECONDS);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Time to live cannot be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_hitsAndMisses() throws Exception {
+        KeyCache cache = new KeyCache(10);
+        Assertions.assertEquals(10, cache.getMaxSize());
+
+        Object a = new Object();
+        Object result = cache.get("t", new byte[] { 0x01 }, () -> a);
+        Assertions.assertSame(a, result);
+        Assertions.assertEquals(0, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+
+        result = cache.get("t", new byte[] { 0x01 }, () -> {
+            Assertions.fail("Expected cache hit");
+            return null;
+        });
+        Assertions.assertSame(a, result);
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(1, cache.getMisses());
+
+        Object b = new Object();
+        result = cache.get("other", new byte[] { 0x01 }, () -> b);
+        Assertions.assertSame(b, result);
+
+        Object c = new Object();
+        result = cache.get("t", "AQ", () -> c);
+        Assertions.assertSame(c, result);
+        Assertions.assertEquals(1, cache.getHits());
+        Assertions.assertEquals(3, cache.getMisses());
+        Assertions.assertEquals(3, cache.size());
+
+        cache.clear();
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void test_keyIsCopied() throws Exception {
+        KeyCache cache = new KeyCache(10);
+        byte[] key = new byte[] { 0x01 };
+        Object a = new Object();
+        cache.get("t", key, () -> a);
+        key[0] = 0x02;
+
+        Object b = new Object();
+        Assertions.assertSame(b, cache.get("t", key, () -> b));
+        Assertions.assertSame(a, cache.get("t", new byte[] { 0x01 }, () -> null));
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEviction() throws Exception {
+        KeyCache cache = new KeyCache(2);
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        cache.get("t", "a", () -> a);
+        cache.get("t", "b", () -> b);
+        // touch a so that b becomes the eldest entry
+        cache.get("t", "a", () -> null);
+        cache.get("t", "c", () -> c);
+
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(1, cache.getEvictions());
+        Assertions.assertSame(a, cache.get("t", "a", () -> null));
+        Assertions.assertSame(c, cache.get("t", "c", () -> null));
+        Object b2 = new Object();
+        Assertions.assertSame(b2, cache.get("t", "b", () -> b2));
+    }
+
+    @Test
+    public void test_concurrentAccess() throws Exception {
+        KeyCache cache = new KeyCache(8);
+        ExecutorService threads = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                results.add(threads.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        String key = Integer.toString(i % 20);
+                        Assertions.assertEquals(key, cache.get("t", key, () -> key));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Assertions.assertTrue(cache.size() <= 8);
+        Assertions.assertEquals(40000, cache.getHits() + cache.getMisses());
+        Assertions.assertTrue(cache.getEvictions() > 0);
+    }
+
+    @Test
+    public void test_expiration() throws Exception {
+        KeyCache cache = new KeyCache(10, 1, TimeUnit.NANOSECONDS);
+        Object a = new Object();
+        Object b = new Object();
+        cache.get("t", "a", () -> a);
+        Thread.sleep(1);
+        Assertions.assertSame(b, cache.get("t", "a", () -> b));
+        Assertions.assertEquals(0, cache.getHits());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void test_algorithm() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        Assertions.assertNull(alg.getKeyCache());
+        KeyCache cache = new KeyCache(10);
+        alg.setKeyCache(cache);
+        Assertions.assertSame(cache, alg.getKeyCache());
+
+        byte[] privateKey = this.getPrivateKey("junit-rsa-256");
+        byte[] publicKey = this.getPublicKey("junit-rsa-256");
+        byte[] data = new byte[] { 0x00, 0x01, 0x02 };
+
+        String expected = Algorithms.RS256.getSignature(privateKey, data);
+        for (int i = 0; i < 3; i++) {
+            String sig = alg.getSignature(privateKey, data);
+            Assertions.assertEquals(expected, sig);
+            Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig));
+        }
+        Assertions.assertEquals(2, cache.getMisses());
+        Assertions.assertEquals(4, cache.getHits());
+
+        String privateStr = java.util.Base64.getEncoder().encodeToString(privateKey);
+        String publicStr = java.util.Base64.getEncoder().encodeToString(publicKey);
+        for (int i = 0; i < 3; i++) {
+            String sig = alg.getSignature(privateStr, "test data");
+            Assertions.assertTrue(alg.isSignatureValid(publicStr, "test data", sig));
+        }
+        Assertions.assertEquals(4, cache.getMisses());
+        Assertions.assertEquals(8, cache.getHits());
+        Assertions.assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void test_algorithm_keyTooShortNotCached() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        KeyCache cache = new KeyCache(10);
+        alg.setKeyCache(cache);
+
+        byte[] privateKey = this.getPrivateKey("junit-rsa-too-short");
+        for (int i = 0; i < 2; i++) {
+            try {
+                alg.getSignature(privateKey, new byte[] { 0x00 });
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Key is too short", ex.getMessage());
+            }
+        }
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void test_algorithm_badKey() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        alg.setKeyCache(new KeyCache(10));
+
+        try {
+            alg.getSignature("fw", "data");
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error signing data", ex.getMessage());
+        }
+
+        try {
+            alg.isSignatureValid("fw", "data", "AA");
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error validating data", ex.getMessage());
+        }
+    }
+
+    private byte[] getPrivateKey(String alias) {
+        try {
+            KeyStore ks = KeyStore.getInstance("PKCS12");
+            ks.load(new FileInputStream("src/test/resources/junit.jks"), new char[0]);
+            PrivateKey key = (PrivateKey) ks.getKey(alias, new char[0]);
+            return key.getEncoded();
+        } catch (Exception ex) {
+            Assertions.fail("Unexpected exception");
+            return null;
+        }
+    }
+
+    private byte[] getPublicKey(String alias) {
+        try {
+            KeyStore ks = KeyStore.getInstance("PKCS12");
+            ks.load(new FileInputStream("src/test/resources/junit.jks"), new char[0]);
+            PublicKey key = ks.getCertificate(alias).getPublicKey();
+            return key.getEncoded();
+        } catch (Exception ex) {
+            Assertions.fail("Unexpected exception");
+            return null;
+        }
+    }
+}
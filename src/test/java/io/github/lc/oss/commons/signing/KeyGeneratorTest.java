@@ -1,12 +1,26 @@
 package io.github.lc.oss.commons.signing;
 
 import java.security.KeyPair;
+import java.security.PublicKey;
 import java.security.interfaces.ECPrivateKey;
 import java.security.interfaces.ECPublicKey;
 import java.security.interfaces.EdECPrivateKey;
 import java.security.interfaces.EdECPublicKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -47,4 +61,140 @@ public class KeyGeneratorTest extends AbstractTest {
             }
         }
     }
+
+    @Test
+    public void test_generateMany() {
+        KeyGenerator generator = new KeyGenerator();
+
+        try (Stream<KeyPair> pairs = generator.generateMany(Algorithms.ES256, 50)) {
+            List<KeyPair> result = pairs.collect(Collectors.toList());
+            Assertions.assertEquals(50, result.size());
+            Set<PublicKey> keys = new HashSet<>();
+            for (KeyPair pair : result) {
+                Assertions.assertTrue(pair.getPrivate() instanceof ECPrivateKey);
+                Assertions.assertTrue(keys.add(pair.getPublic()));
+            }
+        }
+
+        try (Stream<KeyPair> pairs = generator.generateMany(Algorithms.ED25519, 0)) {
+            Assertions.assertTrue(pairs.collect(Collectors.toList()).isEmpty());
+        }
+    }
+
+    @Test
+    public void test_generateMany_close() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            try (Stream<KeyPair> pairs = new KeyGenerator().generateMany(Algorithms.ED25519, 1000000, executor)) {
+                Assertions.assertEquals(5, pairs.limit(5).collect(Collectors.toList()).size());
+            }
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_generateMany_notClosed() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        Executor executor = task -> {
+            running.incrementAndGet();
+            BulkKeyGeneration.DAEMON_THREADS.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    running.decrementAndGet();
+                }
+            });
+        };
+
+        Assertions.assertEquals(5, new KeyGenerator().generateMany(Algorithms.ED25519, 1000000, executor).limit(5).collect(Collectors.toList()).size());
+        Assertions.assertTrue(running.get() > 0);
+
+        long deadline = System.currentTimeMillis() + 30000;
+        while (running.get() > 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, running.get());
+    }
+
+    @Test
+    public void test_generateMany_daemonThreads() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicBoolean daemon = new AtomicBoolean();
+        BulkKeyGeneration.DAEMON_THREADS.execute(() -> {
+            daemon.set(Thread.currentThread().isDaemon());
+            latch.countDown();
+        });
+        Assertions.assertTrue(latch.await(30, TimeUnit.SECONDS));
+        Assertions.assertTrue(daemon.get());
+    }
+
+    @Test
+    public void test_generateMany_workerError() {
+        AtomicInteger calls = new AtomicInteger();
+        Algorithm algorithm = new EcdsaAlgorithm("custom", "SHA256withECDSA", 256) {
+            @Override
+            protected String getKeyType() {
+                // the first call validates the algorithm on the calling thread
+                if (calls.getAndIncrement() > 0) {
+                    throw new Error("Worker error");
+                }
+                return "EC";
+            }
+        };
+
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            try (Stream<KeyPair> pairs = new KeyGenerator().generateMany(algorithm, 10, Runnable::run)) {
+                pairs.collect(Collectors.toList());
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Error generating key pair", ex.getMessage());
+                Assertions.assertEquals("Worker error", ex.getCause().getMessage());
+            }
+        });
+    }
+
+    @Test
+    public void test_generateMany_errors() {
+        KeyGenerator generator = new KeyGenerator();
+
+        try {
+            generator.generateMany(null, 1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithm is required", ex.getMessage());
+        }
+
+        try {
+            generator.generateMany(Algorithms.ES256, -1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Count cannot be negative", ex.getMessage());
+        }
+
+        try {
+            generator.generateMany(Algorithms.ES256, 1, null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Executor is required", ex.getMessage());
+        }
+
+        try {
+            generator.generateMany(Algorithms.HS256, 1);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error generating key pair", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_customAlgorithm() {
+        Algorithm algorithm = new EcdsaAlgorithm("custom", "SHA256withECDSA", 256);
+        KeyPair result = new KeyGenerator().generate(algorithm);
+        Assertions.assertTrue(result.getPrivate() instanceof ECPrivateKey);
+        Assertions.assertTrue(result.getPublic() instanceof ECPublicKey);
+    }
 }
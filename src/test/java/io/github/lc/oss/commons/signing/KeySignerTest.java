@@ -0,0 +1,115 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class KeySignerTest extends AbstractTest {
+    @Test
+    public void test_signAndVerify() {
+        KeyGenerator generator = new KeyGenerator();
+        byte[] data = new byte[] { 0x00, 0x01, 0x02 };
+
+        for (Algorithm algorithm : Algorithms.keyAlgorithms()) {
+            KeyPair pair = generator.generate(algorithm);
+
+            Signer signer = algorithm.newSigner(pair.getPrivate());
+            Verifier verifier = algorithm.newVerifier(pair.getPublic());
+            Assertions.assertSame(algorithm, signer.getAlgorithm());
+            Assertions.assertSame(algorithm, verifier.getAlgorithm());
+
+            for (int i = 0; i < 2; i++) {
+                String sig = signer.getSignature(data);
+                Assertions.assertTrue(verifier.isSignatureValid(data, sig), algorithm.getId());
+                Assertions.assertTrue(algorithm.isSignatureValid(pair.getPublic().getEncoded(), data, sig), algorithm.getId());
+                Assertions.assertFalse(verifier.isSignatureValid(new byte[] { 0x00 }, sig), algorithm.getId());
+            }
+
+            String sig = signer.getSignature("test data");
+            Assertions.assertTrue(verifier.isSignatureValid("test data", sig), algorithm.getId());
+            Assertions.assertFalse(verifier.isSignatureValid("other data", sig), algorithm.getId());
+        }
+    }
+
+    @Test
+    public void test_signer_matchesAlgorithm() {
+        KeyPair pair = new KeyGenerator().generate(Algorithms.RS256);
+        byte[] data = new byte[] { 0x00, 0x01, 0x02 };
+
+        String expected = Algorithms.RS256.getSignature(pair.getPrivate().getEncoded(), data);
+        Assertions.assertEquals(expected, Algorithms.RS256.newSigner(pair.getPrivate()).getSignature(data));
+    }
+
+    @Test
+    public void test_nullKeys() {
+        try {
+            Algorithms.ES256.newSigner((PrivateKey) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Key is required", ex.getMessage());
+        }
+
+        try {
+            Algorithms.ES256.newVerifier((PublicKey) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Key is required", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_wrongKeyType() {
+        KeyPair pair = new KeyGenerator().generate(Algorithms.ED25519);
+
+        try {
+            Algorithms.RS256.newSigner(pair.getPrivate());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Key is not an RSAPrivateKey", ex.getMessage());
+        }
+
+        Verifier verifier = Algorithms.RS256.newVerifier(pair.getPublic());
+        try {
+            verifier.isSignatureValid(new byte[] { 0x00 }, new byte[] { 0x00 });
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error validating data", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_keyTooShort() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 4096);
+        KeyPair pair = new KeyGenerator().generate(Algorithms.RS256);
+
+        try {
+            alg.newSigner(pair.getPrivate());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Key is too short", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_unsupported() {
+        try {
+            Algorithms.HS256.newSigner(Mockito.mock(PrivateKey.class));
+            Assertions.fail("Expected exception");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertEquals("HS256 does not support private keys", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.newVerifier(Mockito.mock(PublicKey.class));
+            Assertions.fail("Expected exception");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertEquals("HS256 does not support public keys", ex.getMessage());
+        }
+    }
+}
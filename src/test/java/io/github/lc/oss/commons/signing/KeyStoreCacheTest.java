@@ -0,0 +1,211 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class KeyStoreCacheTest extends AbstractTest {
+    private Path file;
+
+    @BeforeEach
+    public void init() throws Exception {
+        this.file = Files.createTempFile("junit", ".jks");
+        Files.copy(Paths.get("src/test/resources/junit.jks"), this.file, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @AfterEach
+    public void cleanup() throws Exception {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Test
+    public void test_constructor_errors() {
+        try {
+            new KeyStoreCache(Duration.ofSeconds(-1), Runnable::run);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Check interval cannot be negative", ex.getMessage());
+        }
+
+        try {
+            new KeyStoreCache(null, Runnable::run);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Check interval cannot be negative", ex.getMessage());
+        }
+
+        try {
+            new KeyStoreCache(Duration.ZERO, null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Executor is required", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_loadKeyPair() {
+        KeyStoreCache cache = new KeyStoreCache();
+        String path = this.file.toString();
+
+        KeyPair result = cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]);
+        Assertions.assertNotNull(result.getPrivate());
+        Assertions.assertNotNull(result.getPublic());
+        Assertions.assertSame(result, cache.loadKeyPair(path, "JUNIT-EDDSA-ED448", new char[0]));
+
+        KeyPair expected = Util.loadKeyPair(path, "junit-eddsa-ed448", new char[0]);
+        Assertions.assertEquals(expected.getPublic(), result.getPublic());
+        Assertions.assertEquals(expected.getPrivate(), result.getPrivate());
+
+        Map<String, KeyPair> all = cache.loadKeyPairs(path, new char[0]);
+        Assertions.assertSame(result, all.get("junit-eddsa-ed448"));
+        Assertions.assertTrue(all.size() > 1);
+
+        cache.remove(path);
+        Assertions.assertNotSame(result, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+        KeyPair reloaded = cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]);
+        cache.clear();
+        Assertions.assertNotSame(reloaded, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+    }
+
+    @Test
+    public void test_loadKeyPair_errors() {
+        KeyStoreCache cache = new KeyStoreCache();
+        String path = this.file.toString();
+
+        try {
+            cache.loadKeyPair(path, "junit-eddsa-ed448", new char[] { 0x00, 0x01 });
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading KeyPair", ex.getMessage());
+        }
+
+        Assertions.assertNotNull(cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+
+        try {
+            cache.loadKeyPair(path, "junit-eddsa-ed448", new char[] { 0x00, 0x01 });
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading KeyPair", ex.getMessage());
+            Assertions.assertEquals("Password does not match the cached key store", ex.getCause().getMessage());
+        }
+
+        try {
+            cache.loadKeyPair(path, "junk", new char[0]);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading KeyPair", ex.getMessage());
+            Assertions.assertEquals("No key pair for alias junk", ex.getCause().getMessage());
+        }
+
+        try {
+            cache.loadKeyPairs("src/test/resources/junk.jks", new char[0]);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading KeyPair", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_loadKeyPair_firstLoadRace() throws Exception {
+        String path = this.file.toString();
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 50; i++) {
+                KeyStoreCache cache = new KeyStoreCache();
+                CyclicBarrier barrier = new CyclicBarrier(2);
+                Future<KeyPair> right = threads.submit(() -> {
+                    barrier.await();
+                    return cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]);
+                });
+                Future<KeyPair> wrong = threads.submit(() -> {
+                    barrier.await();
+                    try {
+                        cache.loadKeyPair(path, "junit-eddsa-ed448", new char[] { 0x00, 0x01 });
+                        return null;
+                    } catch (RuntimeException ex) {
+                        Assertions.assertEquals("Error loading KeyPair", ex.getMessage());
+                        return new KeyPair(null, null);
+                    }
+                });
+
+                Assertions.assertNotNull(right.get().getPrivate());
+                Assertions.assertNotNull(wrong.get(), "Wrong password was given the cached key store");
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_reload() throws Exception {
+        List<Runnable> tasks = new ArrayList<>();
+        KeyStoreCache cache = new KeyStoreCache(Duration.ZERO, tasks::add);
+        String path = this.file.toString();
+
+        KeyPair original = cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]);
+        Assertions.assertTrue(tasks.isEmpty());
+
+        // unchanged file
+        Assertions.assertSame(original, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+        Assertions.assertEquals(1, tasks.size());
+        // a check is already scheduled
+        Assertions.assertSame(original, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+        Assertions.assertEquals(1, tasks.size());
+        this.runAll(tasks);
+        Assertions.assertSame(original, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+
+        // touched, same contents
+        Files.setLastModifiedTime(this.file, FileTime.fromMillis(Files.getLastModifiedTime(this.file).toMillis() + 10000));
+        this.runAll(tasks);
+        Assertions.assertSame(original, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+
+        // alias removed
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream is = Files.newInputStream(this.file)) {
+            ks.load(is, new char[0]);
+        }
+        ks.deleteEntry("junit-eddsa-ed448");
+        try (OutputStream os = Files.newOutputStream(this.file)) {
+            ks.store(os, new char[0]);
+        }
+        Files.setLastModifiedTime(this.file, FileTime.fromMillis(Files.getLastModifiedTime(this.file).toMillis() + 20000));
+
+        // served from the previous contents until the reload is done
+        Assertions.assertSame(original, cache.loadKeyPair(path, "junit-eddsa-ed448", new char[0]));
+        this.runAll(tasks);
+        Assertions.assertFalse(cache.loadKeyPairs(path, new char[0]).containsKey("junit-eddsa-ed448"));
+
+        // unreadable file keeps the previous contents
+        Files.delete(this.file);
+        cache.loadKeyPairs(path, new char[0]);
+        this.runAll(tasks);
+        Assertions.assertFalse(cache.loadKeyPairs(path, new char[0]).isEmpty());
+    }
+
+    private void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
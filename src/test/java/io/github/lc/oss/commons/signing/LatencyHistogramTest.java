@@ -0,0 +1,81 @@
+package io.github.lc.oss.commons.signing;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class LatencyHistogramTest extends AbstractTest {
+    @Test
+    public void test_empty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMax());
+        Assertions.assertEquals(0, histogram.getMean());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void test_percentileErrors() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        try {
+            histogram.getValueAtPercentile(-1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Percentile must be between 0 and 100", ex.getMessage());
+        }
+
+        try {
+            histogram.getValueAtPercentile(100.1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Percentile must be between 0 and 100", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_buckets() {
+        for (long i = 0; i < 64; i++) {
+            Assertions.assertEquals(i, LatencyHistogram.index(i));
+            Assertions.assertEquals(i, LatencyHistogram.highestValue((int) i));
+        }
+
+        long[] values = new long[] { 64, 65, 127, 128, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE };
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            long highest = LatencyHistogram.highestValue(index);
+            Assertions.assertTrue(highest >= value, Long.toString(value));
+            Assertions.assertTrue(highest - value <= value / 32, Long.toString(value));
+            Assertions.assertEquals(index, LatencyHistogram.index(highest));
+            if (highest != Long.MAX_VALUE) {
+                Assertions.assertEquals(index + 1, LatencyHistogram.index(highest + 1));
+            }
+        }
+    }
+
+    @Test
+    public void test_percentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000);
+        }
+        histogram.record(-5);
+
+        Assertions.assertEquals(1001, histogram.getCount());
+        Assertions.assertEquals(1000000, histogram.getMax());
+        Assertions.assertEquals(500500000d / 1001, histogram.getMean(), 0.001);
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(0));
+        this.assertWithin(500000, histogram.getValueAtPercentile(50));
+        this.assertWithin(990000, histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(1000000, histogram.getValueAtPercentile(100));
+
+        histogram.reset();
+        Assertions.assertEquals(0, histogram.getCount());
+        Assertions.assertEquals(0, histogram.getMax());
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    private void assertWithin(long expected, long actual) {
+        Assertions.assertTrue(actual >= expected && actual <= expected + expected / 32, String.format("%d is not close to %d", actual, expected));
+    }
+}
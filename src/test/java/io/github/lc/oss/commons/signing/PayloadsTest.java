@@ -0,0 +1,330 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.util.Random;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class PayloadsTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    private static class BrokenStream extends InputStream {
+        @Override
+        public int read() throws IOException {
+            throw new IOException("broken");
+        }
+    }
+
+    @Test
+    public void test_hmac() throws Exception {
+        // larger than, and not a multiple of, the read buffer
+        byte[] data = this.data(Payloads.BUFFER_SIZE * 3 + 17);
+        Algorithm alg = Algorithms.HS256;
+
+        String expected = alg.getSignature(PayloadsTest.SECRET, data);
+        byte[] sig = java.util.Base64.getDecoder().decode(expected);
+
+        Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, new ByteArrayInputStream(data)));
+        Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, Channels.newChannel(new ByteArrayInputStream(data))));
+        Assertions.assertTrue(alg.isSignatureValid(PayloadsTest.SECRET, new ByteArrayInputStream(data), sig));
+        Assertions.assertTrue(alg.isSignatureValid(PayloadsTest.SECRET, Channels.newChannel(new ByteArrayInputStream(data)), sig));
+        Assertions.assertFalse(alg.isSignatureValid(PayloadsTest.SECRET, new ByteArrayInputStream(new byte[] { 0x00 }), sig));
+
+        Path file = Files.createTempFile("junit", ".bin");
+        try {
+            Files.write(file, data);
+            Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, file));
+            Assertions.assertTrue(alg.isSignatureValid(PayloadsTest.SECRET, file, sig));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void test_keyAlgorithms() throws Exception {
+        byte[] data = this.data(Payloads.BUFFER_SIZE * 2 + 1);
+        KeyGenerator generator = new KeyGenerator();
+
+        Path file = Files.createTempFile("junit", ".bin");
+        try {
+            Files.write(file, data);
+
+            for (Algorithm alg : new Algorithm[] { Algorithms.RS256, Algorithms.ES384, Algorithms.ED25519 }) {
+                KeyPair pair = generator.generate(alg);
+                byte[] privateKey = pair.getPrivate().getEncoded();
+                byte[] publicKey = pair.getPublic().getEncoded();
+
+                byte[] sig = java.util.Base64.getDecoder().decode(alg.getSignature(privateKey, new ByteArrayInputStream(data)));
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig), alg.getId());
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, new ByteArrayInputStream(data), sig), alg.getId());
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, Channels.newChannel(new ByteArrayInputStream(data)), sig), alg.getId());
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, file, sig), alg.getId());
+                Assertions.assertFalse(alg.isSignatureValid(publicKey, new ByteArrayInputStream(new byte[] { 0x00 }), sig), alg.getId());
+
+                sig = java.util.Base64.getDecoder().decode(alg.getSignature(privateKey, file));
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig), alg.getId());
+
+                sig = java.util.Base64.getDecoder().decode(alg.getSignature(privateKey, Channels.newChannel(new ByteArrayInputStream(data))));
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig), alg.getId());
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void test_mapped() throws Exception {
+        byte[] data = this.data(100_000);
+        KeyPair pair = new KeyGenerator().generate(Algorithms.RS256);
+        byte[] privateKey = pair.getPrivate().getEncoded();
+        byte[] publicKey = pair.getPublic().getEncoded();
+
+        Path file = Files.createTempFile("junit", ".bin");
+        Path empty = Files.createTempFile("junit", ".bin");
+        try {
+            Files.write(file, data);
+
+            String expected = Algorithms.HS256.getSignature(PayloadsTest.SECRET, data);
+            Assertions.assertEquals(expected, Algorithms.HS256.getMappedSignature(PayloadsTest.SECRET, file));
+            Assertions.assertTrue(Algorithms.HS256.isMappedSignatureValid(PayloadsTest.SECRET, file, java.util.Base64.getDecoder().decode(expected)));
+            Assertions.assertEquals(Algorithms.HS256.getSignature(PayloadsTest.SECRET, new byte[0]),
+                    Algorithms.HS256.getMappedSignature(PayloadsTest.SECRET, empty));
+
+            byte[] sig = java.util.Base64.getDecoder().decode(Algorithms.RS256.getMappedSignature(privateKey, file));
+            Assertions.assertTrue(Algorithms.RS256.isSignatureValid(publicKey, data, sig));
+            Assertions.assertTrue(Algorithms.RS256.isMappedSignatureValid(publicKey, file, sig));
+            Assertions.assertFalse(Algorithms.RS256.isMappedSignatureValid(publicKey, empty, sig));
+
+            // several windows, the last one partial
+            Assertions.assertEquals(expected, ((HmacAlgorithm) Algorithms.HS256).toBase64(this.mac(Payloads.mapped(file, 4096))));
+        } finally {
+            Files.delete(file);
+            Files.delete(empty);
+        }
+    }
+
+    @Test
+    public void test_byteBuffers_hmac() {
+        byte[] data = this.data(1000);
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+        PreparedHmac hmac = alg.prepare(PayloadsTest.SECRET);
+        String expected = alg.getSignature(PayloadsTest.SECRET, data);
+        byte[] raw = java.util.Base64.getDecoder().decode(expected);
+
+        Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, ByteBuffer.wrap(data)));
+        Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, this.split(data, false)));
+        Assertions.assertEquals(expected, alg.getSignature(PayloadsTest.SECRET, this.split(data, true)));
+
+        for (boolean direct : new boolean[] { false, true }) {
+            ByteBuffer out = direct ? ByteBuffer.allocateDirect(64) : ByteBuffer.allocate(64);
+            out.position(3);
+            Assertions.assertEquals(32, alg.sign(PayloadsTest.SECRET, this.split(data, direct), out));
+            Assertions.assertEquals(35, out.position());
+            out.flip().position(3);
+            Assertions.assertEquals(ByteBuffer.wrap(raw), out);
+            Assertions.assertTrue(alg.isSignatureValid(PayloadsTest.SECRET, this.split(data, direct), out));
+            Assertions.assertFalse(out.hasRemaining());
+
+            out.clear();
+            Assertions.assertEquals(32, hmac.sign(this.split(data, direct), out));
+            out.flip();
+            Assertions.assertTrue(hmac.isSignatureValid(this.split(data, direct), out.duplicate()));
+            Assertions.assertFalse(hmac.isSignatureValid(ByteBuffer.wrap(new byte[] { 0x00 }), out));
+        }
+
+        try {
+            alg.sign(PayloadsTest.SECRET, ByteBuffer.wrap(data), ByteBuffer.allocate(8));
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+
+        try {
+            hmac.sign(ByteBuffer.wrap(data), ByteBuffer.allocate(8));
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+
+        // backing array is large enough but the limit is not
+        ByteBuffer limited = ByteBuffer.allocate(64);
+        limited.limit(8);
+        try {
+            hmac.sign(ByteBuffer.wrap(data), limited);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+            Assertions.assertTrue(ex.getCause() instanceof BufferOverflowException);
+        }
+        Assertions.assertEquals(0, limited.position());
+        Assertions.assertArrayEquals(new byte[64], limited.array());
+    }
+
+    @Test
+    public void test_byteBuffers_keyAlgorithms() {
+        byte[] data = this.data(1000);
+        KeyGenerator generator = new KeyGenerator();
+
+        for (Algorithm alg : new Algorithm[] { Algorithms.RS256, Algorithms.ES256, Algorithms.ED448 }) {
+            KeyPair pair = generator.generate(alg);
+            byte[] privateKey = pair.getPrivate().getEncoded();
+            byte[] publicKey = pair.getPublic().getEncoded();
+            Signer signer = alg.newSigner(pair.getPrivate());
+            Verifier verifier = alg.newVerifier(pair.getPublic());
+
+            String sig = alg.getSignature(privateKey, this.split(data, true));
+            Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig), alg.getId());
+            sig = alg.getSignature(privateKey, ByteBuffer.wrap(data));
+            Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig), alg.getId());
+
+            for (boolean direct : new boolean[] { false, true }) {
+                ByteBuffer out = direct ? ByteBuffer.allocateDirect(1024) : ByteBuffer.allocate(1024);
+                int length = alg.sign(privateKey, this.split(data, direct), out);
+                Assertions.assertEquals(length, out.position(), alg.getId());
+                out.flip();
+                Assertions.assertTrue(alg.isSignatureValid(publicKey, this.split(data, !direct), out.duplicate()), alg.getId());
+                Assertions.assertTrue(verifier.isSignatureValid(ByteBuffer.wrap(data), out.duplicate()), alg.getId());
+                Assertions.assertFalse(verifier.isSignatureValid(ByteBuffer.wrap(new byte[] { 0x00 }), out), alg.getId());
+                Assertions.assertFalse(out.hasRemaining(), alg.getId());
+
+                out.clear();
+                signer.sign(this.split(data, direct), out);
+                out.flip();
+                Assertions.assertTrue(verifier.isSignatureValid(this.split(data, direct), out), alg.getId());
+            }
+
+            try {
+                alg.sign(privateKey, ByteBuffer.wrap(data), ByteBuffer.allocate(1));
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Error signing data", ex.getMessage());
+            }
+
+            try {
+                signer.sign(ByteBuffer.wrap(data), ByteBuffer.allocateDirect(1));
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Error signing data", ex.getMessage());
+            }
+        }
+    }
+
+    @Test
+    public void test_readErrors() {
+        KeyPair pair = new KeyGenerator().generate(Algorithms.ED25519);
+
+        try {
+            Algorithms.ED25519.getSignature(pair.getPrivate().getEncoded(), new BrokenStream());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error signing data", ex.getMessage());
+            Assertions.assertEquals("broken", ex.getCause().getMessage());
+        }
+
+        try {
+            Algorithms.ED25519.isSignatureValid(pair.getPublic().getEncoded(), new BrokenStream(), new byte[64]);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error validating data", ex.getMessage());
+        }
+
+        try {
+            Algorithms.HS256.getSignature(PayloadsTest.SECRET, Path.of("src/test/resources/does-not-exist"));
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_defaults() throws Exception {
+        Algorithm alg = new AbstractAlgorithm("id", "SuperCool", 0) {
+            @Override
+            public boolean isSignatureValid(byte[] secret, byte[] data, byte[] signature) {
+                return new String(data, StandardCharsets.UTF_8).equals(new String(signature, StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String getSignature(byte[] secret, byte[] data) {
+                return new String(data, StandardCharsets.UTF_8);
+            }
+        };
+
+        byte[] data = "test data".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals("test data", alg.getSignature(null, new ByteArrayInputStream(data)));
+        Assertions.assertEquals("test data", alg.getSignature(null, Channels.newChannel(new ByteArrayInputStream(data))));
+        Assertions.assertTrue(alg.isSignatureValid(null, new ByteArrayInputStream(data), data));
+        Assertions.assertTrue(alg.isSignatureValid(null, Channels.newChannel(new ByteArrayInputStream(data)), data));
+
+        Path file = Files.createTempFile("junit", ".bin");
+        try {
+            Files.write(file, data);
+            Assertions.assertEquals("test data", alg.getSignature(null, file));
+            Assertions.assertTrue(alg.isSignatureValid(null, file, data));
+        } finally {
+            Files.delete(file);
+        }
+
+        Assertions.assertEquals("test data", alg.getSignature(null, ByteBuffer.wrap(data)));
+        Assertions.assertEquals("test data", alg.getSignature(null, this.split(data, true)));
+        Assertions.assertTrue(alg.isSignatureValid(null, this.split(data, false), ByteBuffer.wrap(data)));
+        Assertions.assertTrue(alg.isSignatureValid(null, ByteBuffer.wrap(data), ByteBuffer.wrap(data)));
+        ByteBuffer out = ByteBuffer.allocate(32);
+        Assertions.assertEquals(data.length, alg.sign(null, ByteBuffer.wrap(java.util.Base64.getEncoder().encode(data)), out));
+        Assertions.assertEquals(ByteBuffer.wrap(data), out.flip());
+
+        try {
+            alg.getSignature(null, new BrokenStream());
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error reading data", ex.getMessage());
+        }
+
+        try {
+            alg.isSignatureValid(null, Path.of("src/test/resources/does-not-exist"), data);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error reading data", ex.getMessage());
+        }
+    }
+
+    private byte[] mac(Payload payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(PayloadsTest.SECRET, "HmacSHA256"));
+        payload.writeTo(Sink.of(mac));
+        return mac.doFinal();
+    }
+
+    private ByteBuffer[] split(byte[] data, boolean direct) {
+        int split = data.length / 2;
+        ByteBuffer[] buffers = new ByteBuffer[] { //
+                direct ? ByteBuffer.allocateDirect(split) : ByteBuffer.allocate(split), //
+                direct ? ByteBuffer.allocateDirect(0) : ByteBuffer.allocate(0), //
+                direct ? ByteBuffer.allocateDirect(data.length - split) : ByteBuffer.allocate(data.length - split) //
+        };
+        buffers[0].put(data, 0, split).flip();
+        buffers[2].put(data, split, data.length - split).flip();
+        return buffers;
+    }
+
+    private byte[] data(int size) {
+        byte[] data = new byte[size];
+        new Random(size).nextBytes(data);
+        return data;
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.lc.oss.commons.signing;
+
+import java.security.KeyPair;
+import java.security.interfaces.ECPrivateKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class PooledKeyGeneratorTest extends AbstractTest {
+    @Test
+    public void test_options() {
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        Assertions.assertEquals(2, options.getLowWatermark());
+        Assertions.assertEquals(8, options.getHighWatermark());
+        Assertions.assertNotNull(options.getExecutor());
+
+        try {
+            options.setLowWatermark(-1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Low watermark cannot be negative", ex.getMessage());
+        }
+
+        try {
+            options.setHighWatermark(0);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("High watermark must be at least 1", ex.getMessage());
+        }
+
+        try {
+            options.setExecutor(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Executor is required", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_errors() {
+        try {
+            new PooledKeyGenerator(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms are required", ex.getMessage());
+        }
+
+        try {
+            new PooledKeyGenerator(Set.of(Algorithms.ES256), null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Options are required", ex.getMessage());
+        }
+
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        options.setLowWatermark(8);
+        try {
+            new PooledKeyGenerator(Set.of(Algorithms.ES256), options);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Low watermark must be below high watermark", ex.getMessage());
+        }
+
+        try {
+            new PooledKeyGenerator(new HashSet<>(Arrays.asList(Algorithms.ES256, null)));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms cannot contain null entries", ex.getMessage());
+        }
+
+        try {
+            new PooledKeyGenerator(Set.of(Algorithms.HS256));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("HS256 does not use key pairs", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_watermarks() {
+        List<Runnable> tasks = new ArrayList<>();
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        options.setLowWatermark(1);
+        options.setHighWatermark(3);
+        options.setExecutor(tasks::add);
+
+        PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.ES256), options);
+        KeyPairPool pool = generator.getPool(Algorithms.ES256);
+        Assertions.assertSame(Algorithms.ES256, pool.getAlgorithm());
+        Assertions.assertEquals("ES256", pool.getAlgorithmId());
+        Assertions.assertEquals(1, pool.getLowWatermark());
+        Assertions.assertEquals(3, pool.getHighWatermark());
+        Assertions.assertEquals(1, generator.getPools().size());
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertEquals(0, pool.getDepth());
+
+        this.runAll(tasks);
+        Assertions.assertEquals(3, pool.getDepth());
+        Assertions.assertEquals(3, pool.getGenerated());
+        Assertions.assertEquals(1, pool.getRefillLatency().getCount());
+        Assertions.assertEquals(3, pool.getGenerateLatency().getCount());
+        Assertions.assertTrue(pool.getRefillLatencyMax() > 0);
+        Assertions.assertTrue(pool.getRefillLatencyMean() > 0);
+        Assertions.assertTrue(pool.getRefillLatencyP99() > 0);
+        Assertions.assertTrue(pool.getGenerateLatencyMean() > 0);
+        Assertions.assertTrue(pool.getGenerateLatencyMax() > 0);
+
+        KeyPair first = generator.generate(Algorithms.ES256);
+        Assertions.assertTrue(first.getPrivate() instanceof ECPrivateKey);
+        Assertions.assertEquals(2, pool.getDepth());
+        Assertions.assertTrue(tasks.isEmpty());
+
+        KeyPair second = generator.generate(Algorithms.ES256);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(1, pool.getDepth());
+        Assertions.assertEquals(1, tasks.size());
+
+        // only one refill at a time
+        generator.generate(Algorithms.ES256);
+        Assertions.assertEquals(0, pool.getDepth());
+        Assertions.assertEquals(1, tasks.size());
+
+        // empty, generated on the caller's thread
+        Assertions.assertNotNull(generator.generate(Algorithms.ES256));
+        Assertions.assertEquals(3, pool.getHits());
+        Assertions.assertEquals(1, pool.getMisses());
+
+        this.runAll(tasks);
+        Assertions.assertEquals(3, pool.getDepth());
+        Assertions.assertEquals(6, pool.getGenerated());
+
+        pool.reset();
+        Assertions.assertEquals(0, pool.getHits());
+        Assertions.assertEquals(0, pool.getMisses());
+        Assertions.assertEquals(0, pool.getGenerated());
+        Assertions.assertEquals(0, pool.getRefillLatency().getCount());
+        Assertions.assertEquals(3, pool.getDepth());
+
+        generator.close();
+        Assertions.assertEquals(0, pool.getDepth());
+        Assertions.assertNotNull(generator.generate(Algorithms.ES256));
+        Assertions.assertEquals(1, pool.getMisses());
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+
+    @Test
+    public void test_closedWhileGenerating() {
+        List<Runnable> tasks = new ArrayList<>();
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        options.setExecutor(tasks::add);
+        KeyPairPool[] pool = new KeyPairPool[1];
+        KeyGenerator generator = new KeyGenerator() {
+            @Override
+            public KeyPair generate(Algorithm algorithm) {
+                pool[0].close();
+                return super.generate(algorithm);
+            }
+        };
+
+        pool[0] = new KeyPairPool(Algorithms.ED25519, generator, options);
+        pool[0].refill();
+        Assertions.assertEquals(1, tasks.size());
+        this.runAll(tasks);
+        Assertions.assertEquals(0, pool[0].getDepth());
+        Assertions.assertEquals(0, pool[0].getGenerated());
+        Assertions.assertEquals(0, pool[0].getRefillErrors());
+    }
+
+    @Test
+    public void test_notPooled() {
+        List<Runnable> tasks = new ArrayList<>();
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        options.setExecutor(tasks::add);
+
+        try (PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.ES256), options)) {
+            Assertions.assertNull(generator.getPool(Algorithms.ED25519));
+            Assertions.assertNotNull(generator.generate(Algorithms.ED25519));
+            Assertions.assertEquals(1, tasks.size());
+        }
+    }
+
+    @Test
+    public void test_refillErrors() {
+        KeyPairPoolOptions options = new KeyPairPoolOptions();
+        options.setExecutor(r -> {
+            throw new RejectedExecutionException();
+        });
+
+        try (PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.ES256), options)) {
+            KeyPairPool pool = generator.getPool(Algorithms.ES256);
+            Assertions.assertEquals(1, pool.getRefillErrors());
+            Assertions.assertNotNull(generator.generate(Algorithms.ES256));
+            Assertions.assertEquals(2, pool.getRefillErrors());
+            Assertions.assertEquals(1, pool.getMisses());
+        }
+
+        List<Runnable> tasks = new ArrayList<>();
+        options.setExecutor(tasks::add);
+        Algorithm broken = new EcdsaAlgorithm("broken", "SHA256withECDSA", 1);
+        try (PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(broken), options)) {
+            KeyPairPool pool = generator.getPool(broken);
+            this.runAll(tasks);
+            Assertions.assertEquals(1, pool.getRefillErrors());
+            Assertions.assertEquals(0, pool.getDepth());
+
+            try {
+                generator.generate(broken);
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Error generating key pair", ex.getMessage());
+            }
+            this.runAll(tasks);
+            Assertions.assertEquals(2, pool.getRefillErrors());
+        }
+    }
+
+    @Test
+    public void test_background() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            KeyPairPoolOptions options = new KeyPairPoolOptions();
+            options.setExecutor(executor);
+
+            try (PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.ED25519), options)) {
+                KeyPairPool pool = generator.getPool(Algorithms.ED25519);
+                this.waitUntil(() -> pool.getDepth() == 8);
+
+                for (int i = 0; i < 6; i++) {
+                    Assertions.assertNotNull(generator.generate(Algorithms.ED25519));
+                }
+                this.waitUntil(() -> pool.getDepth() == 8);
+                Assertions.assertEquals(6, pool.getHits());
+                Assertions.assertEquals(0, pool.getMisses());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void test_background_concurrentTakes() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        ExecutorService takers = Executors.newFixedThreadPool(4);
+        try {
+            KeyPairPoolOptions options = new KeyPairPoolOptions();
+            options.setExecutor(executor);
+
+            try (PooledKeyGenerator generator = new PooledKeyGenerator(Set.of(Algorithms.ED25519), options)) {
+                KeyPairPool pool = generator.getPool(Algorithms.ED25519);
+                this.waitUntil(() -> pool.getDepth() == 8);
+
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(takers.submit(() -> {
+                        for (int j = 0; j < 200; j++) {
+                            Assertions.assertNotNull(generator.generate(Algorithms.ED25519));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+
+                // a take racing the end of a refill must not leave the pool drained
+                this.waitUntil(() -> pool.getDepth() == 8);
+                Assertions.assertEquals(800, pool.getHits() + pool.getMisses());
+                Assertions.assertEquals(0, pool.getRefillErrors());
+            }
+        } finally {
+            takers.shutdownNow();
+            executor.shutdownNow();
+        }
+    }
+
+    private void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                Assertions.fail("Timed out");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void runAll(List<Runnable> tasks) {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class PreparedHmacTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_prepare_secretTooShort() {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+
+        try {
+            alg.prepare(new byte[] { 0x00 });
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+
+        try {
+            alg.prepare((byte[]) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_prepare_exception() {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "junk", 256);
+
+        try {
+            alg.prepare(PreparedHmacTest.SECRET);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to prepare HMAC", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_compute() {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+        PreparedHmac hmac = alg.prepare(PreparedHmacTest.SECRET);
+        Assertions.assertSame(alg, hmac.getAlgorithm());
+
+        byte[] data = new byte[] { 0x00, 0x01, 0x02 };
+
+        for (int i = 0; i < 3; i++) {
+            String result = hmac.getSignature(data);
+            Assertions.assertEquals("WDerFNu1CUlHD+/YzSx+XN1V9h/DoQLbuAg8vEQCdMM", result);
+            Assertions.assertTrue(hmac.isSignatureValid(data, result));
+        }
+
+        Assertions.assertFalse(hmac.isSignatureValid(new byte[] { 0x00 }, "WDerFNu1CUlHD+/YzSx+XN1V9h/DoQLbuAg8vEQCdMM"));
+    }
+
+    @Test
+    public void test_signAndVerify_strings() {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS512;
+
+        byte[] secret = new byte[64];
+        System.arraycopy(PreparedHmacTest.SECRET, 0, secret, 0, PreparedHmacTest.SECRET.length);
+        String secretStr = java.util.Base64.getEncoder().encodeToString(secret);
+
+        PreparedHmac hmac = alg.prepare(secretStr);
+
+        String data = "test data";
+        String sig = hmac.getSignature(data);
+        Assertions.assertEquals(alg.getSignature(secretStr, data), sig);
+        Assertions.assertTrue(hmac.isSignatureValid(data, sig));
+        Assertions.assertTrue(alg.isSignatureValid(secretStr, data, sig));
+        Assertions.assertFalse(hmac.isSignatureValid("other data", sig));
+    }
+
+    @Test
+    public void test_secretKey() {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+        SecretKey key = new SecretKeySpec(PreparedHmacTest.SECRET, "HmacSHA256");
+
+        Signer signer = alg.newSigner(key);
+        Verifier verifier = alg.newVerifier(key);
+        Assertions.assertSame(alg, signer.getAlgorithm());
+
+        byte[] data = new byte[] { 0x00, 0x01, 0x02 };
+        String sig = signer.getSignature(data);
+        Assertions.assertEquals("WDerFNu1CUlHD+/YzSx+XN1V9h/DoQLbuAg8vEQCdMM", sig);
+        Assertions.assertTrue(verifier.isSignatureValid(data, sig));
+    }
+
+    @Test
+    public void test_secretKey_errors() {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+
+        try {
+            alg.prepare((SecretKey) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Key is required", ex.getMessage());
+        }
+
+        try {
+            alg.newSigner(new SecretKeySpec(new byte[] { 0x01 }, "HmacSHA256"));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Secret is too short for this algorithm. Secret must be at least 256 bits.", ex.getMessage());
+        }
+    }
+}
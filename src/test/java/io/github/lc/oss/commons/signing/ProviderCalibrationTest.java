@@ -0,0 +1,190 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.Provider;
+import java.security.Security;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class ProviderCalibrationTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void test_setProvider_hmac() {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        Assertions.assertNull(alg.getProvider());
+        String expected = alg.getSignature(ProviderCalibrationTest.SECRET, new byte[] { 0x01 });
+        PreparedHmac prepared = alg.prepare(ProviderCalibrationTest.SECRET);
+
+        Provider sunJce = Security.getProvider("SunJCE");
+        alg.setProvider(sunJce);
+        Assertions.assertSame(sunJce, alg.getProvider());
+        Assertions.assertEquals(expected, alg.getSignature(ProviderCalibrationTest.SECRET, new byte[] { 0x01 }));
+        Assertions.assertTrue(alg.isSignatureValid(ProviderCalibrationTest.SECRET, new byte[] { 0x01 }, expected));
+        Assertions.assertEquals(expected, alg.prepare(ProviderCalibrationTest.SECRET).getSignature(new byte[] { 0x01 }));
+        Assertions.assertEquals(expected, prepared.getSignature(new byte[] { 0x01 }));
+
+        try {
+            alg.setProvider(Security.getProvider("SUN"));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("SUN does not support HS256", ex.getMessage());
+        }
+        Assertions.assertSame(sunJce, alg.getProvider());
+
+        alg.setProvider(null);
+        Assertions.assertNull(alg.getProvider());
+        Assertions.assertEquals(expected, alg.getSignature(ProviderCalibrationTest.SECRET, new byte[] { 0x01 }));
+    }
+
+    @Test
+    public void test_setProvider_lock() throws InterruptedException {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        Provider sunJce = Security.getProvider("SunJCE");
+
+        // the object's monitor is not involved
+        synchronized (alg) {
+            Thread thread = new Thread(() -> alg.setProvider(sunJce));
+            thread.start();
+            thread.join(5000);
+            Assertions.assertFalse(thread.isAlive());
+        }
+        Assertions.assertSame(sunJce, alg.getProvider());
+
+        alg.providerLock().lock();
+        Thread thread = new Thread(() -> alg.setProvider(null));
+        try {
+            thread.start();
+            thread.join(200);
+            Assertions.assertTrue(thread.isAlive());
+            Assertions.assertSame(sunJce, alg.getProvider());
+        } finally {
+            alg.providerLock().unlock();
+        }
+        thread.join(5000);
+        Assertions.assertFalse(thread.isAlive());
+        Assertions.assertNull(alg.getProvider());
+    }
+
+    @Test
+    public void test_setProvider_key() {
+        RsaAlgorithm alg = new RsaAlgorithm("RS256", "SHA256withRSA", 2048);
+        KeyPair pair = new KeyGenerator().generate(alg);
+        byte[] privateKey = pair.getPrivate().getEncoded();
+        byte[] publicKey = pair.getPublic().getEncoded();
+        byte[] data = new byte[] { 0x01 };
+        KeyCache cache = new KeyCache(10);
+        alg.setKeyCache(cache);
+
+        String expected = alg.getSignature(privateKey, data);
+        Assertions.assertEquals(1, cache.size());
+
+        alg.setProvider(Security.getProvider("SunRsaSign"));
+        Assertions.assertEquals(expected, alg.getSignature(privateKey, data));
+        Assertions.assertTrue(alg.isSignatureValid(publicKey, data, expected));
+        Assertions.assertTrue(alg.newVerifier(pair.getPublic()).isSignatureValid(data, expected));
+        // keys decoded by the bound provider are cached separately
+        Assertions.assertEquals(3, cache.size());
+
+        try {
+            alg.setProvider(Security.getProvider("SunJCE"));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("SunJCE does not support RS256", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_providers() {
+        List<Provider> providers = ProviderCalibration.providers();
+        Assertions.assertTrue(providers.containsAll(Arrays.asList(Security.getProviders())));
+        Set<String> names = new HashSet<>();
+        for (Provider p : providers) {
+            Assertions.assertTrue(names.add(p.getName()), p.getName());
+        }
+    }
+
+    @Test
+    public void test_calibrate_errors() {
+        try {
+            Algorithms.calibrateProviders(null, 1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms are required", ex.getMessage());
+        }
+
+        try {
+            Algorithms.calibrateProviders(Set.of(Algorithms.HS256), 0);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Iterations must be at least 1", ex.getMessage());
+        }
+
+        try {
+            Algorithms.calibrateProviders(new HashSet<>(Arrays.asList((Algorithm) null)), 1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms cannot contain null entries", ex.getMessage());
+        }
+
+        try {
+            new WarmUpOptions().setCalibrationIterations(-1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Calibration iterations cannot be negative", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_calibrate() {
+        HmacAlgorithm hmac = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        EddsaAlgorithm eddsa = new EddsaAlgorithm("ED25519", "Ed25519", 255);
+        Algorithm custom = Mockito.mock(Algorithm.class);
+        Set<Algorithm> algorithms = new LinkedHashSet<>(Arrays.asList(hmac, eddsa, custom));
+
+        Map<Algorithm, Provider> result = Algorithms.calibrateProviders(algorithms, 5);
+        Assertions.assertEquals(Arrays.asList(hmac, eddsa), Arrays.asList(result.keySet().toArray()));
+        Assertions.assertSame(result.get(hmac), hmac.getProvider());
+        Assertions.assertSame(result.get(eddsa), eddsa.getProvider());
+        Assertions.assertNotNull(result.get(hmac).getService("Mac", "HmacSHA256"));
+        Assertions.assertNotNull(result.get(eddsa).getService("Signature", "Ed25519"));
+
+        String sig = hmac.getSignature(ProviderCalibrationTest.SECRET, new byte[] { 0x01 });
+        Assertions.assertTrue(hmac.isSignatureValid(ProviderCalibrationTest.SECRET, new byte[] { 0x01 }, sig));
+    }
+
+    @Test
+    public void test_calibrate_unsupported() {
+        HmacAlgorithm alg = new HmacAlgorithm("junk", "junk", 256);
+        try {
+            Algorithms.calibrateProviders(Set.of(alg), 1);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Failed to calculate HMAC", ex.getMessage());
+        }
+        Assertions.assertNull(alg.getProvider());
+    }
+
+    @Test
+    public void test_warmUp_calibrate() {
+        HmacAlgorithm alg = new HmacAlgorithm("HS256", "HmacSHA256", 256);
+        WarmUpOptions options = new WarmUpOptions();
+        options.setCalibrationIterations(2);
+        Assertions.assertEquals(2, options.getCalibrationIterations());
+
+        Map<Algorithm, ?> result = Algorithms.warmUp(Set.of(alg), options);
+        Assertions.assertTrue(result.containsKey(alg));
+        Assertions.assertNotNull(alg.getProvider());
+    }
+}
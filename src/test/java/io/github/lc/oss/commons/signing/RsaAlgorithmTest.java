@@ -124,7 +124,7 @@ public class RsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_getSignature_badKey() {
         try {
-            Algorithms.RS384.getSignature(new byte[] { 0x7f }, null);
+            Algorithms.RS384.getSignature(new byte[] { 0x7f }, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error signing data", ex.getMessage());
@@ -134,7 +134,7 @@ public class RsaAlgorithmTest extends AbstractTest {
     @Test
     public void test_isSignatureValid_badKey() {
         try {
-            Algorithms.RS512.isSignatureValid(new byte[] { 0x7f }, null, (byte[]) null);
+            Algorithms.RS512.isSignatureValid(new byte[] { 0x7f }, (byte[]) null, (byte[]) null);
             Assertions.fail("Expected exception");
         } catch (RuntimeException ex) {
             Assertions.assertEquals("Error validating data", ex.getMessage());
@@ -0,0 +1,157 @@
+package io.github.lc.oss.commons.signing;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.PublicKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.crypto.Mac;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class SignatureEventTest extends AbstractTest {
+    private static final byte[] SECRET = "At-least-32-chars-are-required-for-a-256-bit-hmac-secret".getBytes(StandardCharsets.UTF_8);
+    private static final String SIGNATURE = "io.github.lc.oss.commons.signing.Signature";
+    private static final String KEY_DECODE = "io.github.lc.oss.commons.signing.KeyDecode";
+
+    @Test
+    public void test_disabled() {
+        Assertions.assertNull(SignatureEvent.start(Algorithms.HS256, SignatureEvent.SIGN));
+        Assertions.assertNull(KeyDecodeEvent.start(Algorithms.RS256, KeyDecodeEvent.PRIVATE));
+
+        Sink sink = Sink.of((Mac) null);
+        Assertions.assertSame(sink, SignatureEvent.count(null, sink));
+        Assertions.assertTrue(SignatureEvent.complete(null, true));
+        Assertions.assertFalse(SignatureEvent.complete(null, (PublicKey) null, false));
+    }
+
+    @Test
+    public void test_fingerprint() {
+        Assertions.assertNull(SignatureEvent.fingerprint((byte[]) null));
+        String fingerprint = SignatureEvent.fingerprint(SignatureEventTest.SECRET);
+        Assertions.assertEquals(11, fingerprint.length());
+        Assertions.assertEquals(fingerprint, SignatureEvent.fingerprint(SignatureEventTest.SECRET.clone()));
+        Assertions.assertNotEquals(fingerprint, SignatureEvent.fingerprint(new byte[] { 0x01 }));
+
+        PublicKey key = new KeyGenerator().generate(Algorithms.ED25519).getPublic();
+        Assertions.assertNull(SignatureEvent.fingerprint((PublicKey) null));
+        Assertions.assertEquals(SignatureEvent.fingerprint(key.getEncoded()), SignatureEvent.fingerprint(key));
+        Assertions.assertSame(SignatureEvent.fingerprint(key), SignatureEvent.fingerprint(key));
+
+        KeyGenerator generator = new KeyGenerator();
+        for (int i = 0; i < 100; i++) {
+            PublicKey other = generator.generate(Algorithms.ED25519).getPublic();
+            Assertions.assertEquals(SignatureEvent.fingerprint(other.getEncoded()), SignatureEvent.fingerprint(other));
+        }
+        Assertions.assertEquals(SignatureEvent.fingerprint(key.getEncoded()), SignatureEvent.fingerprint(key));
+    }
+
+    @Test
+    public void test_hmac() throws Exception {
+        HmacAlgorithm alg = (HmacAlgorithm) Algorithms.HS256;
+        byte[] data = new byte[100];
+
+        List<RecordedEvent> events = this.record(() -> {
+            String sig = alg.getSignature(SignatureEventTest.SECRET, data);
+            Assertions.assertTrue(alg.isSignatureValid(SignatureEventTest.SECRET, data, sig));
+            Assertions.assertFalse(alg.isSignatureValid(SignatureEventTest.SECRET, new byte[1], sig));
+            alg.sign(SignatureEventTest.SECRET, ByteBuffer.wrap(data), ByteBuffer.allocate(64));
+            alg.prepare(SignatureEventTest.SECRET).getSignature(data);
+        });
+
+        List<RecordedEvent> signatures = this.filter(events, SignatureEventTest.SIGNATURE);
+        Assertions.assertEquals(5, signatures.size());
+        for (RecordedEvent e : signatures) {
+            Assertions.assertEquals("HS256", e.getString("algorithm"));
+            Assertions.assertNull(e.getString("keyFingerprint"));
+        }
+
+        this.assertEvent(signatures.get(0), "sign", 100, false, true);
+        this.assertEvent(signatures.get(1), "verify", 100, true, true);
+        this.assertEvent(signatures.get(2), "verify", 1, false, true);
+        this.assertEvent(signatures.get(3), "sign", 100, false, false);
+        this.assertEvent(signatures.get(4), "sign", 100, false, true);
+        Assertions.assertEquals(0, signatures.get(4).getLong("init"));
+    }
+
+    @Test
+    public void test_keyAlgorithm() throws Exception {
+        Algorithm alg = Algorithms.ES256;
+        KeyPair pair = new KeyGenerator().generate(alg);
+        byte[] privateKey = pair.getPrivate().getEncoded();
+        byte[] publicKey = pair.getPublic().getEncoded();
+        byte[] data = new byte[100];
+
+        List<RecordedEvent> events = this.record(() -> {
+            String sig = alg.getSignature(privateKey, data);
+            Assertions.assertTrue(alg.isSignatureValid(publicKey, data, sig));
+            Assertions.assertFalse(alg.isSignatureValid(publicKey, data, new byte[] { 0x01 }));
+            alg.newSigner(pair.getPrivate()).sign(ByteBuffer.wrap(data), ByteBuffer.allocate(128));
+        });
+
+        List<RecordedEvent> decodes = this.filter(events, SignatureEventTest.KEY_DECODE);
+        Assertions.assertEquals(3, decodes.size());
+        Assertions.assertEquals("private", decodes.get(0).getString("keyType"));
+        Assertions.assertEquals(privateKey.length, decodes.get(0).getLong("keySize"));
+        Assertions.assertNull(decodes.get(0).getString("keyFingerprint"));
+        Assertions.assertEquals("public", decodes.get(1).getString("keyType"));
+        Assertions.assertEquals(SignatureEvent.fingerprint(publicKey), decodes.get(1).getString("keyFingerprint"));
+        for (RecordedEvent e : decodes) {
+            Assertions.assertEquals("ES256", e.getString("algorithm"));
+            Assertions.assertTrue(e.getLong("providerLookup") > 0);
+            Assertions.assertTrue(e.getLong("decode") > 0);
+        }
+
+        List<RecordedEvent> signatures = this.filter(events, SignatureEventTest.SIGNATURE);
+        Assertions.assertEquals(4, signatures.size());
+        this.assertEvent(signatures.get(0), "sign", 100, false, true);
+        Assertions.assertNull(signatures.get(0).getString("keyFingerprint"));
+        this.assertEvent(signatures.get(1), "verify", 100, true, true);
+        Assertions.assertEquals(SignatureEvent.fingerprint(publicKey), signatures.get(1).getString("keyFingerprint"));
+        this.assertEvent(signatures.get(2), "verify", 100, false, false);
+        this.assertEvent(signatures.get(3), "sign", 100, false, false);
+        Assertions.assertNull(signatures.get(3).getString("keyFingerprint"));
+    }
+
+    private void assertEvent(RecordedEvent event, String operation, long payloadSize, boolean valid, boolean base64) {
+        Assertions.assertEquals(operation, event.getString("operation"));
+        Assertions.assertEquals(payloadSize, event.getLong("payloadSize"));
+        Assertions.assertEquals(valid, event.getBoolean("valid"));
+        Assertions.assertTrue(event.getLong("engine") > 0);
+        Assertions.assertTrue(event.getLong("update") > 0);
+        Assertions.assertTrue(event.getLong("finish") > 0);
+        Assertions.assertEquals(base64, event.getLong("base64") > 0);
+        long phases = event.getLong("engine") + event.getLong("init") + event.getLong("update") + event.getLong("finish") + event.getLong("base64");
+        Assertions.assertTrue(phases <= event.getDuration().toNanos());
+    }
+
+    private List<RecordedEvent> filter(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+
+    private List<RecordedEvent> record(Runnable operations) throws Exception {
+        Path file = Files.createTempFile("signing", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(SignatureEventTest.SIGNATURE).withThreshold(Duration.ZERO);
+            recording.enable(SignatureEventTest.KEY_DECODE).withThreshold(Duration.ZERO);
+            recording.start();
+            operations.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
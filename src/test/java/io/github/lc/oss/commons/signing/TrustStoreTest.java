@@ -0,0 +1,206 @@
+package io.github.lc.oss.commons.signing;
+
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.X509Certificate;
+import java.security.spec.RSAPublicKeySpec;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class TrustStoreTest extends AbstractTest {
+    /*
+     * RFC 7638 section 3.1
+     */
+    private static final String RFC_N = "0vx7agoebGcQSuuPiLJXZptN9nndrQmbXEps2aiAFbWhM78LhWx4cbbfAAtVT86zwu1RK7aPFFxuhDR1L6tSoc_BJECPebWKRXjBZCiFV4n3oknjhMstn64tZ_2W-5JsGY4Hc5n9yBXArwl93lqt7_RN5w6Cf0h4QyQ5v-65YGjQR0_FDW2QvzqY368QQMicAtaSqzs8KJZgnYb9c7d0zgdAZHzu6qMQvRL5hajrn1n91CbOpbISD08qNLyrdkt-bFTWhAI4vMQFh6WeZu0fM4lFd2NcRwr3XPksINHaQ-G_xBniIqbw0Ls1jF44-csFCur-kEgU8awapJzKnqDKgw";
+    private static final String RFC_THUMBPRINT = "NzbLsXh8uDCcd-6MNwXF4W_7noWXFZAfHkxZsRGC9Xs";
+
+    @Test
+    public void test_thumbprint_rfc7638() throws Exception {
+        BigInteger n = new BigInteger(1, Base64Codec.URL.decode(TrustStoreTest.RFC_N));
+        PublicKey key = KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(n, BigInteger.valueOf(65537)));
+        Assertions.assertEquals(TrustStoreTest.RFC_THUMBPRINT, Thumbprints.thumbprint(key));
+
+        TrustStore store = new TrustStore();
+        TrustedKey trusted = store.add(null, Algorithms.RS256, key);
+        Assertions.assertEquals(TrustStoreTest.RFC_THUMBPRINT, trusted.getKid());
+        Assertions.assertSame(trusted, store.getByThumbprint(TrustStoreTest.RFC_THUMBPRINT));
+    }
+
+    @Test
+    public void test_thumbprint_types() {
+        KeyGenerator generator = new KeyGenerator();
+        Set<String> thumbprints = new HashSet<>();
+        for (Algorithm algorithm : new Algorithm[] { Algorithms.ES256, Algorithms.ES256K, Algorithms.ES384, Algorithms.ES512, Algorithms.ED25519,
+                Algorithms.ED448 }) {
+            PublicKey key = generator.generate(algorithm).getPublic();
+            String thumbprint = Thumbprints.thumbprint(key);
+            Assertions.assertEquals(43, thumbprint.length());
+            Assertions.assertEquals(thumbprint, Thumbprints.thumbprint(key));
+            Assertions.assertTrue(thumbprints.add(thumbprint));
+        }
+
+        PublicKey unsupported = Mockito.mock(PublicKey.class);
+        Mockito.when(unsupported.getAlgorithm()).thenReturn("DSA");
+        try {
+            new TrustStore().add("kid", Algorithms.ES256, unsupported);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Unsupported key type DSA", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_verify() throws Exception {
+        KeyPair pair = new KeyGenerator().generate(Algorithms.ES256);
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        String signature = Algorithms.ES256.newSigner(pair.getPrivate()).getSignature(data);
+
+        TrustStore store = new TrustStore();
+        TrustedKey key = store.add("partner-1", Algorithms.ES256, pair.getPublic());
+        Assertions.assertEquals("partner-1", key.getKid());
+        Assertions.assertSame(Algorithms.ES256, key.getAlgorithm());
+        Assertions.assertSame(pair.getPublic(), key.getPublicKey());
+        Assertions.assertNull(key.getCertificate());
+        Assertions.assertNull(key.getFingerprint());
+        Assertions.assertNotNull(key.getVerifier());
+        Assertions.assertEquals(1, store.size());
+
+        Assertions.assertTrue(store.verify("partner-1", data, signature));
+        Assertions.assertTrue(store.verify("partner-1", data, Base64Codec.STANDARD.decode(signature)));
+        Assertions.assertFalse(store.verify("partner-1", "other".getBytes(StandardCharsets.UTF_8), signature));
+        Assertions.assertFalse(store.verify("junk", data, signature));
+        Assertions.assertFalse(store.verify(null, data, Base64Codec.STANDARD.decode(signature)));
+        Assertions.assertNull(store.getByKid(null));
+        Assertions.assertNull(store.getByThumbprint(null));
+        Assertions.assertNull(store.getByFingerprint(null));
+    }
+
+    @Test
+    public void test_certificates() throws Exception {
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream is = Files.newInputStream(Paths.get("src/test/resources/junit.jks"))) {
+            ks.load(is, new char[0]);
+        }
+        X509Certificate certificate = (X509Certificate) ks.getCertificate("junit-eddsa-ed448");
+        PrivateKey privateKey = (PrivateKey) ks.getKey("junit-eddsa-ed448", new char[0]);
+        byte[] data = "data".getBytes(StandardCharsets.UTF_8);
+        String signature = Algorithms.ED448.newSigner(privateKey).getSignature(data);
+
+        TrustStore store = new TrustStore();
+        TrustedKey key = store.add("ed448", Algorithms.ED448, certificate);
+        String fingerprint = Thumbprints.fingerprint(certificate.getEncoded());
+        Assertions.assertEquals(fingerprint, key.getFingerprint());
+        Assertions.assertEquals(64, fingerprint.length());
+        Assertions.assertSame(certificate, key.getCertificate());
+        Assertions.assertSame(key, store.getByKid("ed448"));
+        Assertions.assertSame(key, store.getByFingerprint(fingerprint));
+        Assertions.assertSame(key, store.getByThumbprint(key.getThumbprint()));
+        Assertions.assertTrue(store.verify("ed448", data, signature));
+
+        // replacing a kid drops the old key from every index
+        KeyPair other = new KeyGenerator().generate(Algorithms.ED448);
+        TrustedKey replaced = store.add("ed448", Algorithms.ED448, other.getPublic());
+        Assertions.assertEquals(1, store.size());
+        Assertions.assertSame(replaced, store.getByKid("ed448"));
+        Assertions.assertNull(store.getByFingerprint(fingerprint));
+        Assertions.assertNull(store.getByThumbprint(key.getThumbprint()));
+        Assertions.assertFalse(store.verify("ed448", data, signature));
+
+        store.add("ed448-cert", Algorithms.ED448, certificate);
+        Assertions.assertEquals(2, store.getAll().size());
+        Assertions.assertSame(replaced, store.remove("ed448"));
+        Assertions.assertNull(store.remove("ed448"));
+        Assertions.assertNull(store.getByThumbprint(replaced.getThumbprint()));
+        Assertions.assertNotNull(store.getByFingerprint(fingerprint));
+
+        store.clear();
+        Assertions.assertEquals(0, store.size());
+        Assertions.assertNull(store.getByFingerprint(fingerprint));
+    }
+
+    @Test
+    public void test_sharedKey() throws Exception {
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream is = Files.newInputStream(Paths.get("src/test/resources/junit.jks"))) {
+            ks.load(is, new char[0]);
+        }
+        X509Certificate certificate = (X509Certificate) ks.getCertificate("junit-eddsa-ed448");
+        String fingerprint = Thumbprints.fingerprint(certificate.getEncoded());
+
+        TrustStore store = new TrustStore();
+        TrustedKey first = store.add("first", Algorithms.ED448, certificate);
+        TrustedKey second = store.add("second", Algorithms.ED448, certificate);
+        TrustedKey third = store.add("third", Algorithms.ED448, certificate);
+        String thumbprint = first.getThumbprint();
+        Assertions.assertSame(third, store.getByThumbprint(thumbprint));
+        Assertions.assertSame(third, store.getByFingerprint(fingerprint));
+
+        // the remaining kids keep the key in the indexes
+        store.remove("third");
+        Assertions.assertSame(second, store.getByThumbprint(thumbprint));
+        Assertions.assertSame(second, store.getByFingerprint(fingerprint));
+        store.remove("first");
+        Assertions.assertSame(second, store.getByThumbprint(thumbprint));
+        Assertions.assertSame(second, store.getByFingerprint(fingerprint));
+
+        // replacing a kid with another key
+        TrustedKey other = store.add("first", Algorithms.ED448, certificate.getPublicKey());
+        TrustedKey replaced = store.add("second", Algorithms.ED448, new KeyGenerator().generate(Algorithms.ED448).getPublic());
+        Assertions.assertSame(other, store.getByThumbprint(thumbprint));
+        Assertions.assertNull(store.getByFingerprint(fingerprint));
+        Assertions.assertSame(replaced, store.getByThumbprint(replaced.getThumbprint()));
+
+        store.remove("first");
+        Assertions.assertNull(store.getByThumbprint(thumbprint));
+        Assertions.assertEquals(1, store.size());
+    }
+
+    @Test
+    public void test_add_errors() {
+        TrustStore store = new TrustStore();
+        PublicKey key = new KeyGenerator().generate(Algorithms.ES256).getPublic();
+
+        try {
+            store.add("kid", null, key);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithm is required", ex.getMessage());
+        }
+
+        try {
+            store.add("kid", Algorithms.ES256, (PublicKey) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Public key is required", ex.getMessage());
+        }
+
+        try {
+            store.add("kid", Algorithms.ES256, (X509Certificate) null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Certificate is required", ex.getMessage());
+        }
+
+        try {
+            store.add("kid", Algorithms.HS256, key);
+            Assertions.fail("Expected exception");
+        } catch (UnsupportedOperationException ex) {
+            Assertions.assertEquals("HS256 does not support public keys", ex.getMessage());
+        }
+        Assertions.assertEquals(0, store.size());
+    }
+}
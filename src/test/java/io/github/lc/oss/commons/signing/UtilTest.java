@@ -1,8 +1,24 @@
 package io.github.lc.oss.commons.signing;
 
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.MessageDigest;
 import java.security.PrivateKey;
 import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -129,4 +145,128 @@ public class UtilTest extends AbstractTest {
         PrivateKey result = Util.loadPrivateKeyFromData(data, "EDDSA");
         Assertions.assertNotNull(result);
     }
+
+    private List<X509Certificate> certificates() throws Exception {
+        KeyStore ks = KeyStore.getInstance("PKCS12");
+        try (InputStream is = Files.newInputStream(Paths.get("src/test/resources/junit.jks"))) {
+            ks.load(is, new char[0]);
+        }
+        List<X509Certificate> certificates = new ArrayList<>();
+        for (String alias : Collections.list(ks.aliases())) {
+            certificates.add((X509Certificate) ks.getCertificate(alias));
+        }
+        return certificates;
+    }
+
+    private String pem(String type, byte[] der) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder(64, new byte[] { '\n' }).encodeToString(der) + "\n-----END " + type + "-----\n";
+    }
+
+    @Test
+    public void test_loadPublicKeys() throws Exception {
+        List<X509Certificate> certificates = this.certificates();
+        Assertions.assertTrue(certificates.size() > 3);
+        Path dir = Files.createTempDirectory("junit");
+        try {
+            // DER, PEM bundle with text between blocks, PKCS#7 in DER and PEM
+            Files.write(dir.resolve("a.cer"), certificates.get(0).getEncoded());
+            Files.writeString(dir.resolve("b.pem"), "partner b\n" + this.pem("CERTIFICATE", certificates.get(1).getEncoded()) + "partner c\n"
+                    + this.pem("CERTIFICATE", certificates.get(2).getEncoded()));
+            byte[] pkcs7 = CertificateFactory.getInstance("X.509").generateCertPath(certificates.subList(3, certificates.size())).getEncoded("PKCS7");
+            Files.write(dir.resolve("c.p7b"), pkcs7);
+            Files.writeString(dir.resolve("d.p7b"), this.pem("PKCS7", pkcs7));
+            Files.writeString(dir.resolve(".hidden"), "junk");
+            Files.createDirectory(dir.resolve("nested"));
+
+            // several test certificates share a subject, the last one wins
+            Map<String, PublicKey> expected = new HashMap<>();
+            for (X509Certificate certificate : certificates) {
+                expected.put(certificate.getSubjectX500Principal().getName(), certificate.getPublicKey());
+            }
+            Assertions.assertEquals(expected, Util.loadPublicKeys(dir.toString(), CertificateIndex.SUBJECT));
+
+            Map<String, PublicKey> byFingerprint = Util.loadPublicKeys(dir.toString(), CertificateIndex.FINGERPRINT, Runnable::run);
+            Assertions.assertEquals(certificates.size(), byFingerprint.size());
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (X509Certificate certificate : certificates) {
+                String fingerprint = Thumbprints.hex(digest.digest(certificate.getEncoded()));
+                Assertions.assertEquals(64, fingerprint.length());
+                Assertions.assertEquals(certificate.getPublicKey(), byFingerprint.get(fingerprint));
+            }
+
+            Files.writeString(dir.resolve("e.txt"), "junk");
+            try {
+                Util.loadPublicKeys(dir.toString(), CertificateIndex.SUBJECT);
+                Assertions.fail("Expected exception");
+            } catch (RuntimeException ex) {
+                Assertions.assertEquals("Error loading public keys", ex.getMessage());
+                Assertions.assertEquals(String.format("Error loading %s", dir.resolve("e.txt")), ex.getCause().getMessage());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void test_loadPublicKeysFromBundle() throws Exception {
+        List<X509Certificate> certificates = this.certificates();
+        StringBuilder bundle = new StringBuilder();
+        for (X509Certificate certificate : certificates) {
+            bundle.append(this.pem("CERTIFICATE", certificate.getEncoded()));
+        }
+        // other blocks are skipped
+        bundle.append(new String(IoTools.readFile("src/test/resources/junit_rsa_256.key")));
+
+        Map<String, PublicKey> result = Util.loadPublicKeysFromData(bundle.toString(), CertificateIndex.FINGERPRINT);
+        Assertions.assertEquals(certificates.size(), result.size());
+
+        Path file = Files.createTempFile("junit", ".p7b");
+        try {
+            Files.write(file, CertificateFactory.getInstance("X.509").generateCertPath(certificates).getEncoded("PKCS7"));
+            Map<String, PublicKey> der = Util.loadPublicKeysFromBundle(file.toString(), CertificateIndex.FINGERPRINT);
+            Assertions.assertEquals(result, der);
+
+            Files.writeString(file, bundle);
+            Assertions.assertEquals(result, Util.loadPublicKeysFromBundle(file.toString(), CertificateIndex.FINGERPRINT, Runnable::run));
+        } finally {
+            Files.delete(file);
+        }
+        Assertions.assertEquals(Util.loadPublicKey("src/test/resources/junit_eddsa_ed448.cer"),
+                Util.loadPublicKeysFromBundle("src/test/resources/junit_eddsa_ed448.cer", CertificateIndex.SUBJECT).values().iterator().next());
+    }
+
+    @Test
+    public void test_loadPublicKeys_errors() {
+        try {
+            Util.loadPublicKeys("src/test/resources/junk", CertificateIndex.SUBJECT);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading public keys", ex.getMessage());
+        }
+
+        try {
+            Util.loadPublicKeysFromData(new String(IoTools.readFile("src/test/resources/junit_eddsa_ed448.cer")), null);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading public keys", ex.getMessage());
+            Assertions.assertEquals("Index is required", ex.getCause().getMessage());
+        }
+
+        try {
+            Util.loadPublicKeysFromData("-----BEGIN CERTIFICATE-----\nAAAA\n-----END CERTIFICATE-----\n", CertificateIndex.SUBJECT);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading public keys", ex.getMessage());
+            Assertions.assertEquals("Error loading block 0", ex.getCause().getMessage());
+        }
+
+        try {
+            Util.loadPublicKeysFromBundle("src/test/resources/junk.pem", CertificateIndex.SUBJECT);
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error loading public keys", ex.getMessage());
+        }
+    }
 }
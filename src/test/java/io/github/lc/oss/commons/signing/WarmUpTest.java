@@ -0,0 +1,118 @@
+package io.github.lc.oss.commons.signing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import io.github.lc.oss.commons.testing.AbstractTest;
+
+public class WarmUpTest extends AbstractTest {
+    @Test
+    public void test_options() {
+        WarmUpOptions options = new WarmUpOptions();
+        Assertions.assertEquals(0, options.getIterations());
+        Assertions.assertEquals(256, options.getPayloadSize());
+        Assertions.assertNotNull(options.getExecutor());
+
+        try {
+            options.setIterations(-1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Iterations cannot be negative", ex.getMessage());
+        }
+
+        try {
+            options.setPayloadSize(-1);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Payload size cannot be negative", ex.getMessage());
+        }
+
+        try {
+            options.setExecutor(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Executor is required", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_errors() {
+        try {
+            Algorithms.warmUp(null);
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms are required", ex.getMessage());
+        }
+
+        try {
+            Algorithms.warmUp(new HashSet<>(Arrays.asList(Algorithms.HS256, null)));
+            Assertions.fail("Expected exception");
+        } catch (IllegalArgumentException ex) {
+            Assertions.assertEquals("Algorithms cannot contain null entries", ex.getMessage());
+        }
+
+        try {
+            Algorithms.warmUp(Set.of(new HmacAlgorithm("junk", "junk", 256)));
+            Assertions.fail("Expected exception");
+        } catch (RuntimeException ex) {
+            Assertions.assertEquals("Error warming up junk", ex.getMessage());
+        }
+    }
+
+    @Test
+    public void test_primeOnly() {
+        Map<Algorithm, Duration> result = Algorithms.warmUp(Algorithms.all(), null);
+        Assertions.assertEquals(Algorithms.all(), result.keySet());
+        for (Duration d : result.values()) {
+            Assertions.assertFalse(d.isNegative());
+        }
+
+        try {
+            result.clear();
+            Assertions.fail("Expected exception");
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    @Test
+    public void test_iterations() {
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = task -> {
+            tasks.add(task);
+            task.run();
+        };
+        WarmUpOptions options = new WarmUpOptions();
+        options.setIterations(2);
+        options.setPayloadSize(10);
+        options.setExecutor(executor);
+
+        Algorithm custom = Mockito.mock(Algorithm.class);
+        Set<Algorithm> algorithms = new LinkedHashSet<>(Arrays.asList(Algorithms.ES256, Algorithms.HS384, Algorithms.ED25519, custom));
+        InMemoryMetrics metrics = new InMemoryMetrics();
+        ((AbstractAlgorithm) Algorithms.HS384).setMetrics(metrics);
+        try {
+            Map<Algorithm, Duration> result = Algorithms.warmUp(algorithms, options);
+            Assertions.assertEquals(new ArrayList<>(algorithms), new ArrayList<>(result.keySet()));
+        } finally {
+            ((AbstractAlgorithm) Algorithms.HS384).setMetrics(null);
+        }
+        Assertions.assertFalse(tasks.isEmpty());
+        // handle and encoded key, once each per iteration
+        Assertions.assertEquals(4, metrics.get("HS384").getSigns());
+        Assertions.assertEquals(4, metrics.get("HS384").getVerifies());
+        Assertions.assertEquals(0, metrics.get("HS384").getVerifyFailures());
+        Mockito.verify(custom, Mockito.never()).newSigner(Mockito.any(byte[].class));
+    }
+}